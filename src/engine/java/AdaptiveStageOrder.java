@@ -0,0 +1,264 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Order of the checkNormal stages for one run, re-chosen from measurements while the run goes on. The cheapest and
+// most selective stage depends a lot on the filter and the coordinates, so the hand-written default order is only the
+// starting point.
+//
+// Measuring: the first WARMUP_SAMPLES seeds, and afterwards 1 in 2^SAMPLE_SHIFT seeds, are checked with every stage
+// instead of stopping at the first rejection, so rejection rates are not skewed by the current order. Samplers derive
+// their octaves lazily while sampling, so the stage that first touches a sampler also pays for deriving it. Only the
+// time of stages whose samplers are already derived counts as sampling time. For 1 in 2^DERIVE_SHIFT measured seeds a
+// stage that touches new samplers is run a second time; the difference between the two runs is the derivation of
+// those samplers, shared out between them. Nothing is derived beyond what the stages read.
+// Ordering: greedy by marginal cost / rejection rate, where the marginal cost of a stage only includes the samplers
+// that no earlier stage has derived. A new order is taken when its expected cost per seed is clearly lower. The
+// statistics restart after every decision, so timings from before the JIT compiled the filter do not linger.
+final class AdaptiveStageOrder {
+    private static final long WARMUP_SAMPLES = 1024;
+    private static final long REORDER_SAMPLES = 4096; // Measured seeds between two re-orderings
+    private static final int SAMPLE_SHIFT = 7;
+    private static final int DERIVE_SHIFT = 4; // Among the measured seeds
+    private static final double MIN_GAIN = 0.05; // Required reduction of the expected cost to switch orders
+    private final FilterPlan plan;
+    private final FilterStage[] stages; // Default order; statistics are indexed like this array
+    private final NoiseCache.Sampler[] samplers; // Every sampler used by a stage
+    private final LongAdder samples = new LongAdder(); // Measured seeds since the last decision
+    private final LongAdder[] stageNanos; // Sampling time of each stage, without derivation
+    private final LongAdder[] stageSamples; // Timings summed in stageNanos
+    private final LongAdder[] rejections;
+    private final LongAdder[] deriveNanos; // Indexed by Sampler.ordinal()
+    private final LongAdder[] deriveSamples;
+    private final AtomicBoolean reordering = new AtomicBoolean(false);
+    private final Consumer<String> log;
+    private final Language language;
+    private volatile FilterStage[] order;
+    private volatile boolean warmedUp = false;
+    private volatile long nextReorder = WARMUP_SAMPLES;
+    AdaptiveStageOrder(FilterPlan plan, Consumer<String> log, Language language) {
+        this.plan = plan;
+        this.stages = plan.stages;
+        this.order = plan.stages;
+        this.log = log;
+        this.language = language;
+        int used = 0;
+        for (FilterStage stage : stages) {
+            used |= stage.samplers;
+        }
+        List<NoiseCache.Sampler> usedSamplers = new ArrayList<>();
+        for (NoiseCache.Sampler sampler : NoiseCache.Sampler.values()) {
+            if ((used & sampler.bit()) != 0) {
+                usedSamplers.add(sampler);
+            }
+        }
+        this.samplers = usedSamplers.toArray(new NoiseCache.Sampler[0]);
+        this.stageNanos = newAdders(stages.length);
+        this.stageSamples = newAdders(stages.length);
+        this.rejections = newAdders(stages.length);
+        this.deriveNanos = newAdders(NoiseCache.Sampler.values().length);
+        this.deriveSamples = newAdders(NoiseCache.Sampler.values().length);
+    }
+    boolean check(long seed) {
+        if (isMeasured(seed)) {
+            return measure(seed);
+        }
+        NoiseCache cache = NoiseCache.forThread(seed);
+        for (FilterStage stage : order) {
+            if (!SeedFilter.passes(stage, cache, plan)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    // check for the seeds[i] of every bit i of candidates, see SeedFilter.checkNormalBatch. Returns the bits of the
+    // seeds that passed
+    long checkBatch(long[] seeds, long candidates) {
+        long passed = 0;
+        long survivors = 0;
+        for (long rest = candidates; rest != 0; rest &= rest - 1) {
+            int i = Long.numberOfTrailingZeros(rest);
+            if (!isMeasured(seeds[i])) {
+                survivors |= 1L << i;
+            } else if (measure(seeds[i])) {
+                passed |= 1L << i;
+            }
+        }
+        return passed | SeedFilter.checkNormalBatch(seeds, survivors, plan, order);
+    }
+    // Whether check(seed) measures the seed
+    private boolean isMeasured(long seed) {
+        // Sampled by a hash of the seed: consecutive and sister seeds are spread evenly
+        return !warmedUp || (seed * 0x9E3779B97F4A7C15L) >>> (64 - SAMPLE_SHIFT) == 0;
+    }
+    // Whether measure(seed) also times the derivation of the samplers; a different hash than isMeasured
+    private static boolean isDeriveMeasured(long seed) {
+        return (seed * 0xC2B2AE3D27D4EB4FL) >>> (64 - DERIVE_SHIFT) == 0;
+    }
+    private boolean measure(long seed) {
+        NoiseCache cache = NoiseCache.forThread(seed);
+        boolean measureDerive = isDeriveMeasured(seed);
+        boolean passed = true;
+        int derived = 0; // Samplers touched by the stages before
+        for (int i = 0; i < stages.length; i++) {
+            int fresh = stages[i].samplers & ~derived;
+            derived |= stages[i].samplers;
+            long start = System.nanoTime();
+            boolean stagePassed = SeedFilter.passes(stages[i], cache, plan);
+            long nanos = System.nanoTime() - start;
+            if (!stagePassed) {
+                rejections[i].increment();
+                passed = false;
+            }
+            if (fresh == 0) {
+                stageNanos[i].add(nanos);
+                stageSamples[i].increment();
+            } else if (measureDerive) {
+                // Same stage again, now without deriving anything
+                start = System.nanoTime();
+                SeedFilter.passes(stages[i], cache, plan);
+                long sampleNanos = System.nanoTime() - start;
+                stageNanos[i].add(sampleNanos);
+                stageSamples[i].increment();
+                long share = (nanos - sampleNanos) / Integer.bitCount(fresh);
+                for (NoiseCache.Sampler sampler : samplers) {
+                    if ((fresh & sampler.bit()) != 0) {
+                        deriveNanos[sampler.ordinal()].add(share);
+                        deriveSamples[sampler.ordinal()].increment();
+                    }
+                }
+            }
+        }
+        samples.increment();
+        if (samples.sum() >= nextReorder && reordering.compareAndSet(false, true)) {
+            try {
+                reorder();
+            } finally {
+                reordering.set(false);
+            }
+        }
+        return passed;
+    }
+    private void reorder() {
+        long sampleCount = samples.sum();
+        double[] derive = new double[deriveNanos.length];
+        for (NoiseCache.Sampler sampler : samplers) {
+            derive[sampler.ordinal()] = mean(deriveNanos[sampler.ordinal()], deriveSamples[sampler.ordinal()]);
+        }
+        double[] cost = new double[stages.length];
+        double[] rejectRate = new double[stages.length];
+        for (int i = 0; i < stages.length; i++) {
+            cost[i] = mean(stageNanos[i], stageSamples[i]);
+            // Smoothed, so a stage that never rejected still has a finite (very bad) rank
+            rejectRate[i] = (rejections[i].sum() + 0.5) / (sampleCount + 1.0);
+        }
+        int[] greedy = new int[stages.length];
+        boolean[] taken = new boolean[stages.length];
+        int derived = 0;
+        for (int position = 0; position < stages.length; position++) {
+            int best = -1;
+            double bestRank = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < stages.length; i++) {
+                if (taken[i]) {
+                    continue;
+                }
+                double rank = marginalCost(i, derived, cost, derive) / rejectRate[i];
+                if (best < 0 || rank < bestRank) {
+                    best = i;
+                    bestRank = rank;
+                }
+            }
+            taken[best] = true;
+            greedy[position] = best;
+            derived |= stages[best].samplers;
+        }
+        FilterStage[] current = order;
+        double currentCost = expectedCost(indicesOf(current), cost, derive, rejectRate);
+        double greedyCost = expectedCost(greedy, cost, derive, rejectRate);
+        boolean first = !warmedUp;
+        if (greedyCost < currentCost * (1 - MIN_GAIN)) {
+            FilterStage[] next = new FilterStage[stages.length];
+            for (int position = 0; position < greedy.length; position++) {
+                next[position] = stages[greedy[position]];
+            }
+            order = next;
+            report(next, greedyCost);
+        } else if (first) {
+            report(current, currentCost);
+        }
+        // Measurements racing with this reset only blur the next window a little
+        samples.reset();
+        resetAll(stageNanos);
+        resetAll(stageSamples);
+        resetAll(rejections);
+        resetAll(deriveNanos);
+        resetAll(deriveSamples);
+        nextReorder = REORDER_SAMPLES;
+        warmedUp = true;
+    }
+    private double marginalCost(int stage, int derived, double[] cost, double[] derive) {
+        double marginal = cost[stage];
+        int missing = stages[stage].samplers & ~derived;
+        for (NoiseCache.Sampler sampler : samplers) {
+            if ((missing & sampler.bit()) != 0) {
+                marginal += derive[sampler.ordinal()];
+            }
+        }
+        return marginal;
+    }
+    // Expected nanoseconds per seed, treating the stages as independent
+    private double expectedCost(int[] sequence, double[] cost, double[] derive, double[] rejectRate) {
+        double expected = 0;
+        double reach = 1; // Share of seeds that get this far
+        int derived = 0;
+        for (int stage : sequence) {
+            expected += reach * marginalCost(stage, derived, cost, derive);
+            reach *= 1 - rejectRate[stage];
+            derived |= stages[stage].samplers;
+        }
+        return expected;
+    }
+    private int[] indicesOf(FilterStage[] sequence) {
+        int[] indices = new int[sequence.length];
+        for (int position = 0; position < sequence.length; position++) {
+            for (int i = 0; i < stages.length; i++) {
+                if (stages[i] == sequence[position]) {
+                    indices[position] = i;
+                    break;
+                }
+            }
+        }
+        return indices;
+    }
+    private void report(FilterStage[] sequence, double expectedNanos) {
+        StringBuilder names = new StringBuilder();
+        for (FilterStage stage : sequence) {
+            if (names.length() > 0) {
+                names.append(", ");
+            }
+            names.append(stage.describe());
+        }
+        log.accept(String.format(Locale.ROOT, LanguageResources.get("stage_order", language), names,
+                expectedNanos / 1000.0));
+    }
+    // Nanoseconds per timing; timer noise can make a derivation difference negative, which is not a cost
+    private static double mean(LongAdder nanos, LongAdder count) {
+        long n = count.sum();
+        return n == 0 ? 0 : Math.max(0, nanos.sum() / (double) n);
+    }
+    private static void resetAll(LongAdder[] adders) {
+        for (LongAdder adder : adders) {
+            adder.reset();
+        }
+    }
+    private static LongAdder[] newAdders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
@@ -0,0 +1,358 @@
+import nl.jellejurre.seedchecker.TargetState;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Headless entry point: runs the same search as the GUI from command-line flags and/or a properties file.
+// Every flag can also be given as a key in the --config file (without the leading "--"); flags win over the file.
+public class CaveFinderCli {
+    static {
+        System.setProperty("log4j2.isThreadContextMapInheritable", "true");
+        System.setProperty("log4j2.disable.jmx", "true");
+    }
+    private static final long PROGRESS_INTERVAL_MS = 10_000; // Print progress every 10 seconds
+    // Flags that take no value on the command line ("true"/"false" in the config file)
+    private static final Set<String> SWITCHES = Set.of("structure", "world", "entrance1-only", "bedrock-impossible",
+            "check-height", "underwater", "resume", "help");
+    // Options that take a value, besides the parameter names (--temperature, --ridge, ...)
+    private static final Set<String> VALUE_OPTIONS = Set.of("start", "end", "shard", "list", "x", "z", "depth", "range",
+            "range-type", "height-target", "threads", "height-threads", "output", "config");
+    private static final String USAGE = String.join("\n",
+            "Usage: java -jar CaveFinderCli.jar [options]",
+            "Seed source (incremental range by default):",
+            "  --start N --end N            inclusive seed range",
+            "  --shard i/n                  only search part i (0-based) of n equal parts of the range",
+            "  --list FILE                  read seeds from FILE (one per line) instead of a range",
+            "  --structure | --world        treat seeds as 48-bit structure seeds or world seeds (default world)",
+            "Filter:",
+            "  --x N --z N                  block coordinates to check (default 0 0)",
+            "  --depth N                    cave depth: -50, -40, -30, -20, -10 or 0 (default -50)",
+            "  --entrance1-only             only check Entrance1",
+            "  --bedrock-impossible         use the bedrock-impossible check",
+            "  --check-height               check surface height with SeedChecker",
+            "  --underwater                 check the underwater height instead of the land height",
+            "  --range \"x1 z1 x2 z2\"        block offsets from --x --z of the area for the height check",
+            "  --range-type min|avg|max     which column floor of the area must lie below --depth: the lowest",
+            "                               (some column is open), the average or the highest (every column)",
+            "                               (default min)",
+            "  --height-target STATE        SeedChecker generation target of the height check, one of",
+            "                               " + targetStates() + " (default " + FilterPlan.TERRAIN_TARGET + ",",
+            "                               " + FilterPlan.FEATURES_TARGET + " with --underwater); shallower ones are faster",
+            "                               but can pass columns that a tree, vine or other feature would block",
+            "  --<parameter> COND:V1[:V2]   temperature, humidity, erosion, ridge, entrance, cheese,",
+            "                               continentalness, aquifer; COND is between, greater_than,",
+            "                               less_than, not_in_range, abs_in_range, abs_not_in_range, or 'off'",
+            "Run:",
+            "  --threads N                  noise filter threads (default: all cores)",
+            "  --height-threads N           height check threads, fed by the noise filter threads through a",
+            "                               bounded queue (default: same as --threads); each one holds the",
+            "                               terrain of one candidate in memory",
+            "  --output FILE                result file (default result.txt or result-shard-i-of-n.txt)",
+            "  --resume                     continue from FILE.checkpoint, keeping the hits already in FILE",
+            "  --config FILE                properties file with any of the keys above");
+
+    public static void main(String[] args) {
+        try {
+            Class.forName("net.minecraft.SharedConstants");
+        } catch (Exception e) {
+            System.err.println("SharedConstants preload failed: " + e.getMessage());
+        }
+        try {
+            Class.forName("nl.jellejurre.seedchecker.SeedCheckerSettings");
+        } catch (Exception e) {
+            System.err.println("SeedCheckerSettings preload failed: " + e.getMessage());
+        }
+        Map<String, String> options;
+        FilterPlan plan;
+        SearchJob job;
+        try {
+            options = parseArgs(args);
+            if (boolOption(options, "help")) {
+                System.out.println(USAGE);
+                return;
+            }
+            plan = buildPlan(options);
+            job = buildJob(options);
+        } catch (IllegalArgumentException | IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        if (job == null) {
+            System.out.println("Shard is empty, nothing to do");
+            return;
+        }
+        System.exit(run(plan, job));
+    }
+    private static int run(FilterPlan plan, SearchJob job) {
+        SearchEngine engine = new SearchEngine(plan, job, Language.ENGLISH, System.out::println);
+        // Workers only count; this thread prints their progress at a fixed rate
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        progress.scheduleAtFixedRate(() -> printProgress(engine), PROGRESS_INTERVAL_MS, PROGRESS_INTERVAL_MS,
+                TimeUnit.MILLISECONDS);
+        try {
+            return engine.run() ? 0 : 1;
+        } catch (Exception e) {
+            System.err.println("Search failed: " + e.getMessage());
+            e.printStackTrace();
+            engine.stop();
+            return 1;
+        } finally {
+            progress.shutdownNow();
+        }
+    }
+    private static void printProgress(SearchEngine engine) {
+        long completed = engine.getCompletedTasks();
+        long checked = completed - engine.getResumedTasks(); // Read after completed, which already contains it
+        long total = engine.getTotalTasks();
+        long elapsedMs = engine.getElapsedMs();
+        String speed = elapsedMs > 0 ? SearchEngine.formatSpeed(checked * 1000.0 / elapsedMs) : "-";
+        if (total > 0) {
+            System.out.printf(Locale.ROOT, "Progress: %d/%d (%.2f%%), %s tasks/s, elapsed %s%n", completed, total,
+                    completed * 100.0 / total, speed, SearchEngine.formatElapsedTime(elapsedMs, Language.ENGLISH));
+        } else {
+            System.out.printf(Locale.ROOT, "Progress: %d, %s tasks/s, elapsed %s%n", completed, speed,
+                    SearchEngine.formatElapsedTime(elapsedMs, Language.ENGLISH));
+        }
+        String heightStage = engine.describeHeightStage(Language.ENGLISH);
+        if (heightStage != null) {
+            System.out.println(heightStage);
+        }
+    }
+    private static Map<String, String> parseArgs(String[] args) throws IOException {
+        Map<String, String> flags = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            String key = arg.substring(2);
+            String value;
+            int eq = key.indexOf('=');
+            if (eq >= 0) {
+                value = key.substring(eq + 1);
+                key = key.substring(0, eq);
+            } else if (SWITCHES.contains(key)) {
+                value = "true";
+            } else if (i + 1 < args.length) {
+                value = args[++i];
+            } else {
+                throw new IllegalArgumentException("Missing value for --" + key);
+            }
+            checkKnown(key);
+            flags.put(key, value);
+        }
+        Map<String, String> options = new HashMap<>();
+        String config = flags.get("config");
+        if (config != null) {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(Paths.get(config))) {
+                properties.load(in);
+            }
+            for (String name : properties.stringPropertyNames()) {
+                checkKnown(name);
+                options.put(name, properties.getProperty(name).trim());
+            }
+        }
+        options.putAll(flags);
+        return options;
+    }
+    // A mistyped option would otherwise be ignored silently, e.g. --shrad 1/4 searching the whole range
+    private static void checkKnown(String key) {
+        if (SWITCHES.contains(key) || VALUE_OPTIONS.contains(key)) {
+            return;
+        }
+        for (ParameterType type : ParameterType.values()) {
+            if (type.name().toLowerCase(Locale.ROOT).equals(key)) {
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Unknown option --" + key);
+    }
+    private static FilterPlan buildPlan(Map<String, String> options) {
+        ParameterCondition[] conditions = new ParameterCondition[ParameterType.values().length];
+        // Same defaults as the GUI
+        conditions[ParameterType.CONTINENTALNESS.ordinal()] = new ParameterCondition(ConditionType.GREATER_THAN, -0.11, 1.0);
+        conditions[ParameterType.RIDGE.ordinal()] = new ParameterCondition(ConditionType.NOT_IN_RANGE, -0.16, 0.16);
+        conditions[ParameterType.ENTRANCE.ordinal()] = new ParameterCondition(ConditionType.LESS_THAN, 0.0, 0.0);
+        conditions[ParameterType.CHEESE.ordinal()] = new ParameterCondition(ConditionType.LESS_THAN, 0.0, 0.0);
+        conditions[ParameterType.AQUIFER.ordinal()] = new ParameterCondition(ConditionType.LESS_THAN, 0.4, 0.4);
+        for (ParameterType type : ParameterType.values()) {
+            String spec = options.get(type.name().toLowerCase(Locale.ROOT));
+            if (spec != null) {
+                conditions[type.ordinal()] = parseCondition(type, spec);
+            }
+        }
+        int depth = intOption(options, "depth", -50);
+        if (depth < -50 || depth > 0 || depth % 10 != 0) {
+            throw new IllegalArgumentException("--depth must be one of -50, -40, -30, -20, -10, 0");
+        }
+        boolean bedrockImpossible = boolOption(options, "bedrock-impossible");
+        boolean checkHeight = boolOption(options, "check-height");
+        int[] range = null;
+        String rangeText = options.get("range");
+        if (rangeText != null && checkHeight && !bedrockImpossible) {
+            range = FilterPlan.parseRange(rangeText, Language.ENGLISH);
+        }
+        int rangeHeightType = switch (options.getOrDefault("range-type", "min").toLowerCase(Locale.ROOT)) {
+            case "min" -> FilterPlan.RANGE_MIN_HEIGHT;
+            case "avg" -> FilterPlan.RANGE_AVG_HEIGHT;
+            case "max" -> FilterPlan.RANGE_MAX_HEIGHT;
+            default -> throw new IllegalArgumentException("--range-type must be min, avg or max");
+        };
+        return new FilterPlan(intOption(options, "x", 0), intOption(options, "z", 0), depth,
+                boolOption(options, "entrance1-only"), bedrockImpossible, checkHeight,
+                boolOption(options, "underwater"), range, rangeHeightType, options.get("height-target"), conditions);
+    }
+    // "off" or "COND:V1[:V2]", e.g. "not_in_range:-0.16:0.16"
+    private static ParameterCondition parseCondition(ParameterType type, String spec) {
+        if (spec.equalsIgnoreCase("off")) {
+            return null;
+        }
+        String[] parts = spec.split(":");
+        if (parts.length < 2 || parts.length > 3) {
+            throw new IllegalArgumentException("Invalid condition for " + type + ": " + spec);
+        }
+        try {
+            ConditionType condition = ConditionType.valueOf(parts[0].trim().toUpperCase(Locale.ROOT));
+            double value1 = Double.parseDouble(parts[1].trim());
+            double value2 = parts.length == 3 ? Double.parseDouble(parts[2].trim()) : value1;
+            return new ParameterCondition(condition, value1, value2);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid condition for " + type + ": " + spec);
+        }
+    }
+    // Returns null when the requested shard does not contain any seed
+    private static SearchJob buildJob(Map<String, String> options) {
+        boolean structureSeeds = boolOption(options, "structure");
+        if (structureSeeds && boolOption(options, "world")) {
+            throw new IllegalArgumentException("--structure and --world are mutually exclusive");
+        }
+        int threads = intOption(options, "threads", Runtime.getRuntime().availableProcessors());
+        if (threads < 1) {
+            throw new IllegalArgumentException("--threads must be at least 1");
+        }
+        int heightThreads = intOption(options, "height-threads", threads);
+        if (heightThreads < 1) {
+            throw new IllegalArgumentException("--height-threads must be at least 1");
+        }
+        boolean resume = boolOption(options, "resume");
+        String shard = options.get("shard");
+        String output = options.get("output");
+        String list = options.get("list");
+        if (list != null) {
+            if (shard != null) {
+                throw new IllegalArgumentException("--shard only applies to incremental ranges, not to --list");
+            }
+            Path listPath = Paths.get(list);
+            if (!Files.isReadable(listPath)) {
+                throw new IllegalArgumentException("Cannot read seed list " + list);
+            }
+            return new SearchJob(resolveOutput(output, "result.txt"), false, structureSeeds, 0, 0, "",
+                    listPath.toAbsolutePath().toString(), threads, heightThreads, resume);
+        }
+        if (!options.containsKey("start") || !options.containsKey("end")) {
+            throw new IllegalArgumentException("Either --start/--end or --list is required");
+        }
+        long start = longOption(options, "start", 0);
+        long end = longOption(options, "end", 0);
+        if (end < start) {
+            throw new IllegalArgumentException("--end must not be less than --start");
+        }
+        if (shard == null) {
+            return new SearchJob(resolveOutput(output, "result.txt"), true, structureSeeds, start, end, "", null,
+                    threads, heightThreads, resume);
+        }
+        String[] parts = shard.split("/");
+        int index;
+        int count;
+        try {
+            index = Integer.parseInt(parts[0].trim());
+            count = Integer.parseInt(parts[1].trim());
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("--shard must look like i/n, e.g. 0/4");
+        }
+        if (parts.length != 2 || count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("--shard must be i/n with 0 <= i < n");
+        }
+        // BigInteger because end - start + 1 overflows for the full long range
+        BigInteger first = BigInteger.valueOf(start);
+        BigInteger size = BigInteger.valueOf(end).subtract(first).add(BigInteger.ONE);
+        BigInteger shardCount = BigInteger.valueOf(count);
+        BigInteger shardStart = first.add(size.multiply(BigInteger.valueOf(index)).divide(shardCount));
+        BigInteger shardEnd = first.add(size.multiply(BigInteger.valueOf(index + 1L)).divide(shardCount))
+                .subtract(BigInteger.ONE);
+        if (shardEnd.compareTo(shardStart) < 0) {
+            return null;
+        }
+        System.out.println("Shard " + index + "/" + count + ": seeds " + shardStart + " to " + shardEnd);
+        String defaultName = "result-shard-" + index + "-of-" + count + ".txt";
+        return new SearchJob(resolveOutput(output, defaultName), true, structureSeeds, shardStart.longValueExact(),
+                shardEnd.longValueExact(), "", null, threads, heightThreads, resume);
+    }
+    private static String resolveOutput(String output, String defaultName) {
+        Path path = Paths.get(output != null ? output : defaultName);
+        return path.toAbsolutePath().toString();
+    }
+    // The --height-target values of the SeedChecker version on the class path
+    private static String targetStates() {
+        StringBuilder names = new StringBuilder();
+        for (TargetState state : TargetState.values()) {
+            if (names.length() > 0) {
+                names.append(", ");
+            }
+            names.append(state.name());
+        }
+        return names.toString();
+    }
+    // Like checkKnown, a mistyped value such as resume=yes must not silently mean false
+    private static boolean boolOption(Map<String, String> options, String key) {
+        String value = options.getOrDefault(key, "false").trim();
+        if (value.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (value.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException("--" + key + " expects true or false: " + value);
+    }
+    private static int intOption(Map<String, String> options, String key, int defaultValue) {
+        String value = options.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("--" + key + " expects an integer: " + value);
+        }
+    }
+    private static long longOption(Map<String, String> options, String key, long defaultValue) {
+        String value = options.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("--" + key + " expects an integer: " + value);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.HexFormat;
+import java.util.Properties;
+
+// Which slices of a run are finished, persisted as "<export file>.checkpoint" next to the results. A slice is a fixed
+// block of the run's work space (seeds, structureSeed sister-seed indices or seed list bytes); the fingerprint ties
+// the file to the exact configuration so a resume never mixes results of different settings.
+final class Checkpoint {
+    private static final String VERSION = "1";
+    private final Path path;
+    private final String fingerprint;
+    private final long sliceSize;
+    private final int sliceCount;
+    private final BitSet done;
+    private long doneSeeds; // WorldSeeds checked in finished slices
+    private Checkpoint(Path path, String fingerprint, long sliceSize, int sliceCount, BitSet done, long doneSeeds) {
+        this.path = path;
+        this.fingerprint = fingerprint;
+        this.sliceSize = sliceSize;
+        this.sliceCount = sliceCount;
+        this.done = done;
+        this.doneSeeds = doneSeeds;
+    }
+    static Path pathFor(Path resultPath) {
+        return resultPath.resolveSibling(resultPath.getFileName() + ".checkpoint");
+    }
+    static Checkpoint create(Path resultPath, String fingerprint, long sliceSize, int sliceCount) {
+        return new Checkpoint(pathFor(resultPath), fingerprint, sliceSize, sliceCount, new BitSet(sliceCount), 0);
+    }
+    // Returns null when there is no checkpoint; throws IllegalStateException when it belongs to another configuration
+    static Checkpoint load(Path resultPath, String fingerprint, long sliceSize, int sliceCount, Language language)
+            throws IOException {
+        Path path = pathFor(resultPath);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(path)) {
+            properties.load(in);
+        }
+        if (!VERSION.equals(properties.getProperty("version")) || !fingerprint.equals(properties.getProperty("fingerprint"))
+                || !Long.toString(sliceSize).equals(properties.getProperty("sliceSize"))
+                || !Integer.toString(sliceCount).equals(properties.getProperty("sliceCount"))) {
+            throw new IllegalStateException(LanguageResources.get("checkpoint_mismatch", language) + path);
+        }
+        BitSet done = BitSet.valueOf(Base64.getDecoder().decode(properties.getProperty("done", "")));
+        long doneSeeds = Long.parseLong(properties.getProperty("doneSeeds", "0"));
+        return new Checkpoint(path, fingerprint, sliceSize, sliceCount, done, doneSeeds);
+    }
+    // SHA-256 of a description of everything that decides which seeds a run checks and which of them are written
+    static String fingerprint(String description) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(description.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    synchronized boolean isDone(int slice) {
+        return done.get(slice);
+    }
+    synchronized void markDone(int slice, long seeds) {
+        if (!done.get(slice)) {
+            done.set(slice);
+            doneSeeds += seeds;
+        }
+    }
+    synchronized long getDoneSeeds() {
+        return doneSeeds;
+    }
+    synchronized int getDoneSlices() {
+        return done.cardinality();
+    }
+    synchronized boolean isComplete() {
+        return done.cardinality() == sliceCount;
+    }
+    // Copy of the current state; take it before syncing the result file so that it never claims unwritten hits
+    synchronized Properties snapshot() {
+        Properties properties = new Properties();
+        int watermark = done.nextClearBit(0); // Every slice below this one is finished
+        properties.setProperty("version", VERSION);
+        properties.setProperty("fingerprint", fingerprint);
+        properties.setProperty("sliceSize", Long.toString(sliceSize));
+        properties.setProperty("sliceCount", Integer.toString(sliceCount));
+        properties.setProperty("watermark", Integer.toString(Math.min(watermark, sliceCount)));
+        // Up to 2^64 for the whole world seed space, past what a long holds
+        properties.setProperty("watermarkOffset", BigInteger.valueOf(Math.min(watermark, sliceCount))
+                .multiply(BigInteger.valueOf(sliceSize)).toString());
+        properties.setProperty("done", Base64.getEncoder().encodeToString(done.toByteArray()));
+        properties.setProperty("doneSeeds", Long.toString(doneSeeds));
+        return properties;
+    }
+    // Written to a temporary file first and moved over the old checkpoint, so a crash never leaves a torn file
+    void save(Properties snapshot) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            snapshot.store(out, "CaveFinder checkpoint, watermarkOffset is relative to the start of the work space");
+        }
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+}
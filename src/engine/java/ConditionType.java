@@ -0,0 +1,6 @@
+public enum ConditionType {
+    BETWEEN, GREATER_THAN, LESS_THAN, NOT_IN_RANGE, ABS_IN_RANGE, ABS_NOT_IN_RANGE;
+    public String getDisplayName(Language lang) {
+        return LanguageResources.getConditionTypeName(this, lang);
+    }
+}
@@ -0,0 +1,94 @@
+// Octave coordinates of every position the filters sample, computed once per run and shared read-only by all workers.
+// x and z are fixed for a run and the y-levels are a known set, so scaling and wrapping the coordinates of each octave
+// (see DoublePerlinNoise.Point) does not have to be repeated for every seed.
+final class CoordinatePlan {
+    // Every value NoiseColumnSampler.CaveScaler.scaleTunnels returns (the vanilla tunnel rarity mapper); Entrance2
+    // divides its spaghetti coordinates by it. Checked against the library by NoiseCache.verifyAgainstLibrary
+    static final double[] TUNNEL_SCALES = {0.75, 1.0, 1.5, 2.0};
+    // Everything sampled at one y of the searched column
+    static final class Level {
+        final int x, y, z;
+        final DoublePerlinNoise.Point entrance1;
+        final DoublePerlinNoise.Point spaghettiRarity;
+        final DoublePerlinNoise.Point spaghettiThickness;
+        final DoublePerlinNoise.Point[] spaghetti3D1; // Indexed like TUNNEL_SCALES
+        final DoublePerlinNoise.Point[] spaghetti3D2;
+        final DoublePerlinNoise.Point spaghettiRoughnessModulator;
+        final DoublePerlinNoise.Point spaghettiRoughness;
+        final DoublePerlinNoise.Point caveLayer;
+        final DoublePerlinNoise.Point caveCheese;
+        final DoublePerlinNoise.Point aquifer;
+        final DoublePerlinNoise.Point bedrockAquifer; // The bedrock impossible check samples the aquifer at x/4, z/4
+        Level(int x, int y, int z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            entrance1 = entrance1Point(x, y, z);
+            spaghettiRarity = point(NoiseCache.Sampler.SPAGHETTI_RARITY, x * 2, y, z * 2);
+            spaghettiThickness = point(NoiseCache.Sampler.SPAGHETTI_THICKNESS, x, y, z);
+            spaghetti3D1 = new DoublePerlinNoise.Point[TUNNEL_SCALES.length];
+            spaghetti3D2 = new DoublePerlinNoise.Point[TUNNEL_SCALES.length];
+            for (int i = 0; i < TUNNEL_SCALES.length; i++) {
+                double e = TUNNEL_SCALES[i];
+                spaghetti3D1[i] = point(NoiseCache.Sampler.SPAGHETTI_3D_1, x / e, y / e, z / e);
+                spaghetti3D2[i] = point(NoiseCache.Sampler.SPAGHETTI_3D_2, x / e, y / e, z / e);
+            }
+            spaghettiRoughnessModulator = point(NoiseCache.Sampler.SPAGHETTI_ROUGHNESS_MODULATOR, x, y, z);
+            spaghettiRoughness = point(NoiseCache.Sampler.SPAGHETTI_ROUGHNESS, x, y, z);
+            caveLayer = point(NoiseCache.Sampler.CAVE_LAYER, x, y * 8, z);
+            caveCheese = point(NoiseCache.Sampler.CAVE_CHEESE, x, y * 0.6666666666666666, z);
+            aquifer = point(NoiseCache.Sampler.AQUIFER, x, y * 0.67, z);
+            bedrockAquifer = point(NoiseCache.Sampler.AQUIFER, (double)x/4, y * 0.67, (double)z/4);
+        }
+        // Index of scale in TUNNEL_SCALES, -1 if the noise library ever returns another one
+        static int tunnelScaleIndex(double scale) {
+            for (int i = 0; i < TUNNEL_SCALES.length; i++) {
+                if (TUNNEL_SCALES[i] == scale) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+    private static final int LOWEST_Y = -64;
+    private static final int HIGHEST_Y = 64;
+    final DoublePerlinNoise.Point temperature;
+    final DoublePerlinNoise.Point humidity;
+    final DoublePerlinNoise.Point erosion;
+    final DoublePerlinNoise.Point ridge;
+    final DoublePerlinNoise.Point continentalness;
+    final DoublePerlinNoise.Point[] bedrockSides; // Entrance1 at y 55, 5 blocks east, west, south and north
+    private final Level[] levels; // Indexed by y - LOWEST_Y, null for y-levels that no filter samples
+    CoordinatePlan(int x, int z, int minDepth) {
+        temperature = point(NoiseCache.Sampler.TEMPERATURE, (double)x/4, 0, (double)z/4);
+        humidity = point(NoiseCache.Sampler.HUMIDITY, (double)x/4, 0, (double)z/4);
+        erosion = point(NoiseCache.Sampler.EROSION, (double)x/4, 0, (double)z/4);
+        ridge = point(NoiseCache.Sampler.RIDGE, (double)x/4, 0, (double)z/4);
+        continentalness = point(NoiseCache.Sampler.CONTINENTALNESS, (double)x/4, 0, (double)z/4);
+        bedrockSides = new DoublePerlinNoise.Point[]{entrance1Point(x + 5, 55, z), entrance1Point(x - 5, 55, z),
+                entrance1Point(x, 55, z + 5), entrance1Point(x, 55, z - 5)};
+        levels = new Level[HIGHEST_Y - LOWEST_Y + 1];
+        // checkNormal: the cave depth up to 60; checkBedrockImpossible: -50 to 60, 45 and 55
+        for (int y = minDepth; y <= 60; y += 10) {
+            addLevel(x, y, z);
+        }
+        for (int y = -50; y <= 60; y += 5) {
+            addLevel(x, y, z);
+        }
+    }
+    private void addLevel(int x, int y, int z) {
+        if (levels[y - LOWEST_Y] == null) {
+            levels[y - LOWEST_Y] = new Level(x, y, z);
+        }
+    }
+    // y must be one of the planned levels
+    Level level(int y) {
+        return levels[y - LOWEST_Y];
+    }
+    private static DoublePerlinNoise.Point entrance1Point(int x, int y, int z) {
+        return point(NoiseCache.Sampler.CAVE_ENTRANCE, x * 0.75, y * 0.5, z * 0.75);
+    }
+    private static DoublePerlinNoise.Point point(NoiseCache.Sampler sampler, double x, double y, double z) {
+        return sampler.parameters.point(x, y, z);
+    }
+}
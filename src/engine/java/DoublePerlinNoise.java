@@ -0,0 +1,363 @@
+import java.util.Arrays;
+
+// Port of the 1.18 double Perlin noise ("normal noise") of one seed, bit-identical to the noise-sampler library, so
+// that a sample can be compared against a threshold octave by octave.
+//
+// sample() is the exact value with the library's summation order. compare() adds the octaves from the largest
+// amplitude to the smallest and stops as soon as the octaves still missing, which are bounded by their amplitudes,
+// can no longer change the outcome. Octaves are built on first use, so octaves a verdict never needs are not even
+// derived (deriving one costs more than sampling it).
+final class DoublePerlinNoise {
+    static final int FAIL = 0;
+    static final int PASS = 1;
+    static final int UNDECIDED = 2;
+    // |ImprovedNoise.sample| <= 1.5: each corner value is a dot product with a gradient of two +-1 components, so at
+    // most the sum of the three distances to the corner, and the interpolation weights make that sum average at most
+    // 0.5 per axis (the maximum of (1 - fade(t)) * t + fade(t) * (1 - t))
+    private static final double OCTAVE_BOUND = 1.5;
+    // Covers the rounding difference between the octave-ordered partial sums and the exact summation order
+    private static final double MARGIN = 1e-9;
+    private static final double INPUT_FACTOR = 1.0181268882175227;
+    private final Parameters parameters;
+    private final XoroshiroRandom random = new XoroshiroRandom(0L, 0L);
+    private long firstLo, firstHi, secondLo, secondHi; // Forks of the two Perlin noises
+    private long generation; // Incremented by every reseed; octaves seeded for an older one are stale
+    private final ImprovedNoise[] first;
+    private final ImprovedNoise[] second;
+    private final double[] firstValues; // Octave samples of the last compare(), in octave order
+    private final double[] secondValues;
+    private double lastSample;
+    // Everything that only depends on the noise parameters, computed once per noise and shared by all seeds
+    static final class Parameters {
+        final String id;
+        final int firstOctave;
+        final double[] amplitudes;
+        final double valueFactor;
+        final double[] inputFactors; // Per octave, 2^(firstOctave + i)
+        final double[] valueFactors; // Per octave, as halved by the library
+        final int[] octaveOrder; // Octaves with a non-zero amplitude, largest bound first
+        final double[] bounds; // Per octave, bound of its contribution before valueFactor
+        final double totalBound;
+        final long[] idHash; // XoroshiroRandom.nameHash(id)
+        final long[][] octaveHashes; // Per octave, XoroshiroRandom.nameHash("octave_" + (firstOctave + i))
+        Parameters(String id, int firstOctave, double... amplitudes) {
+            this.id = id;
+            this.firstOctave = firstOctave;
+            this.amplitudes = amplitudes;
+            int n = amplitudes.length;
+            this.idHash = XoroshiroRandom.nameHash(id);
+            this.octaveHashes = new long[n][];
+            for (int i = 0; i < n; i++) {
+                octaveHashes[i] = XoroshiroRandom.nameHash("octave_" + (firstOctave + i));
+            }
+            int j = Integer.MAX_VALUE;
+            int k = Integer.MIN_VALUE;
+            for (int i = 0; i < n; i++) {
+                if (amplitudes[i] != 0.0) {
+                    j = Math.min(j, i);
+                    k = Math.max(k, i);
+                }
+            }
+            this.valueFactor = 0.16666666666666666 / (0.1 * (1.0 + 1.0 / (double) (k - j + 1)));
+            this.inputFactors = new double[n];
+            this.valueFactors = new double[n];
+            this.bounds = new double[n];
+            double e = Math.pow(2.0, firstOctave);
+            double f = Math.pow(2.0, n - 1) / (Math.pow(2.0, n) - 1.0);
+            double total = 0;
+            for (int i = 0; i < n; i++) {
+                inputFactors[i] = e;
+                valueFactors[i] = f;
+                bounds[i] = Math.abs(amplitudes[i]) * f * OCTAVE_BOUND;
+                total += amplitudes[i] != 0.0 ? 2 * bounds[i] : 0; // Once per Perlin noise
+                e *= 2.0;
+                f /= 2.0;
+            }
+            this.totalBound = total;
+            int count = 0;
+            int[] order = new int[n];
+            for (int i = 0; i < n; i++) {
+                if (amplitudes[i] == 0.0) {
+                    continue;
+                }
+                // Insertion sort by descending bound; equal bounds keep the lower octave first
+                int position = count++;
+                while (position > 0 && bounds[order[position - 1]] < bounds[i]) {
+                    order[position] = order[position - 1];
+                    position--;
+                }
+                order[position] = i;
+            }
+            this.octaveOrder = Arrays.copyOf(order, count);
+        }
+        Point point(double x, double y, double z) {
+            return new Point(this, x, y, z);
+        }
+    }
+    // Seed-independent part of sampling one position: the scaled and wrapped coordinates of every octave of both
+    // Perlin noises. Lattice cells and fractions are not included, they depend on the seeded origin of each octave
+    static final class Point {
+        final double[] first; // x, y, z per octave
+        final double[] second;
+        private Point(Parameters parameters, double x, double y, double z) {
+            int n = parameters.amplitudes.length;
+            first = new double[3 * n];
+            second = new double[3 * n];
+            double sx = x * INPUT_FACTOR;
+            double sy = y * INPUT_FACTOR;
+            double sz = z * INPUT_FACTOR;
+            for (int i = 0; i < n; i++) {
+                double e = parameters.inputFactors[i];
+                first[3 * i] = wrap(x * e);
+                first[3 * i + 1] = wrap(y * e);
+                first[3 * i + 2] = wrap(z * e);
+                second[3 * i] = wrap(sx * e);
+                second[3 * i + 1] = wrap(sy * e);
+                second[3 * i + 2] = wrap(sz * e);
+            }
+        }
+    }
+    // Not usable before the first reseed
+    DoublePerlinNoise(Parameters parameters) {
+        this.parameters = parameters;
+        int n = parameters.amplitudes.length;
+        first = new ImprovedNoise[n];
+        second = new ImprovedNoise[n];
+        firstValues = new double[n];
+        secondValues = new double[n];
+    }
+    // Makes this the noise of another seed. forkLo/forkHi: the seed's positional random fork (two nextLong() of the
+    // world seed random). The octaves are kept and reseeded in place on their next use
+    void reseed(long forkLo, long forkHi) {
+        random.setSeed(parameters.idHash[0] ^ forkLo, parameters.idHash[1] ^ forkHi);
+        firstLo = random.nextLong();
+        firstHi = random.nextLong();
+        secondLo = random.nextLong();
+        secondHi = random.nextLong();
+        generation++;
+    }
+    double sample(double x, double y, double z) {
+        double d = x * INPUT_FACTOR;
+        double e = y * INPUT_FACTOR;
+        double f = z * INPUT_FACTOR;
+        return (sampleOctaves(first, firstLo, firstHi, x, y, z) + sampleOctaves(second, secondLo, secondHi, d, e, f))
+                * parameters.valueFactor;
+    }
+    // Same as sample(x, y, z) for the position of the point
+    double sample(Point point) {
+        return (sampleOctaves(first, firstLo, firstHi, point.first)
+                + sampleOctaves(second, secondLo, secondHi, point.second)) * parameters.valueFactor;
+    }
+    // Verdict of condition.test(sample(point) + offset). With upperBoundOnly, the tested value is only known to be
+    // at most sample + offset (it is a minimum with something else), so a verdict must hold for all lower values too.
+    // UNDECIDED means every octave was needed; lastSample() then returns the exact sample(point).
+    int compare(Point point, double offset, ParameterCondition condition, boolean upperBoundOnly) {
+        Parameters p = parameters;
+        double[] firstCoordinates = point.first;
+        double[] secondCoordinates = point.second;
+        double sum = 0;
+        double remaining = p.totalBound;
+        double v = p.valueFactor;
+        for (int octave : p.octaveOrder) {
+            int c = 3 * octave;
+            double weight = p.amplitudes[octave] * p.valueFactors[octave];
+            double a = octave(first, firstLo, firstHi, octave)
+                    .sample(firstCoordinates[c], firstCoordinates[c + 1], firstCoordinates[c + 2]);
+            double b = octave(second, secondLo, secondHi, octave)
+                    .sample(secondCoordinates[c], secondCoordinates[c + 1], secondCoordinates[c + 2]);
+            firstValues[octave] = a;
+            secondValues[octave] = b;
+            sum += weight * (a + b);
+            remaining -= 2 * p.bounds[octave];
+            double hi = (sum + remaining + MARGIN) * v + offset;
+            if (upperBoundOnly) {
+                if (condition.passesAllUpTo(hi)) {
+                    return PASS;
+                }
+                if (condition.failsAllUpTo(hi)) {
+                    return FAIL;
+                }
+            } else {
+                double lo = (sum - remaining - MARGIN) * v + offset;
+                if (condition.passesAll(lo, hi)) {
+                    return PASS;
+                }
+                if (condition.failsAll(lo, hi)) {
+                    return FAIL;
+                }
+            }
+        }
+        lastSample = (sumOctaves(firstValues) + sumOctaves(secondValues)) * v;
+        return UNDECIDED;
+    }
+    double lastSample() {
+        return lastSample;
+    }
+    // Same loop as the library's octave sum; its rounding is what compare() has to reproduce
+    private double sampleOctaves(ImprovedNoise[] octaves, long forkLo, long forkHi, double x, double y, double z) {
+        double[] amplitudes = parameters.amplitudes;
+        double d = 0;
+        double e = parameters.inputFactors[0];
+        double f = parameters.valueFactors[0];
+        for (int i = 0; i < amplitudes.length; i++) {
+            if (amplitudes[i] != 0.0) {
+                d += amplitudes[i] * octave(octaves, forkLo, forkHi, i).sample(wrap(x * e), wrap(y * e), wrap(z * e)) * f;
+            }
+            e *= 2.0;
+            f /= 2.0;
+        }
+        return d;
+    }
+    private double sampleOctaves(ImprovedNoise[] octaves, long forkLo, long forkHi, double[] coordinates) {
+        double[] amplitudes = parameters.amplitudes;
+        double d = 0;
+        for (int i = 0; i < amplitudes.length; i++) {
+            if (amplitudes[i] != 0.0) {
+                int c = 3 * i;
+                d += amplitudes[i] * octave(octaves, forkLo, forkHi, i).sample(coordinates[c], coordinates[c + 1],
+                        coordinates[c + 2]) * parameters.valueFactors[i];
+            }
+        }
+        return d;
+    }
+    private double sumOctaves(double[] values) {
+        double[] amplitudes = parameters.amplitudes;
+        double d = 0;
+        for (int i = 0; i < amplitudes.length; i++) {
+            if (amplitudes[i] != 0.0) {
+                d += amplitudes[i] * values[i] * parameters.valueFactors[i];
+            }
+        }
+        return d;
+    }
+    private ImprovedNoise octave(ImprovedNoise[] octaves, long forkLo, long forkHi, int i) {
+        ImprovedNoise noise = octaves[i];
+        if (noise == null) {
+            noise = new ImprovedNoise();
+            octaves[i] = noise;
+        }
+        if (noise.generation != generation) {
+            long[] hash = parameters.octaveHashes[i];
+            noise.reseed(hash[0] ^ forkLo, hash[1] ^ forkHi, generation);
+        }
+        return noise;
+    }
+    private static double wrap(double value) {
+        return value - (double) lfloor(value / 3.3554432E7 + 0.5) * 3.3554432E7;
+    }
+    private static long lfloor(double value) {
+        long l = (long) value;
+        return value < (double) l ? l - 1L : l;
+    }
+    // One octave: classic improved Perlin noise with a seeded permutation and offset.
+    // The permutation is a Fisher-Yates shuffle, and entry i no longer changes after step i. A seed is usually sampled at
+    // a few points only, so the shuffle runs lazily up to the highest entry read so far instead of all 256 steps.
+    static final class ImprovedNoise {
+        private static final int[][] GRADIENTS = {{1, 1, 0}, {-1, 1, 0}, {1, -1, 0}, {-1, -1, 0}, {1, 0, 1}, {-1, 0, 1},
+                {1, 0, -1}, {-1, 0, -1}, {0, 1, 1}, {0, -1, 1}, {0, 1, -1}, {0, -1, -1}, {1, 1, 0}, {0, -1, 1},
+                {-1, 1, 0}, {0, -1, -1}};
+        private static final byte[] IDENTITY = new byte[256];
+        static {
+            for (int i = 0; i < 256; i++) {
+                IDENTITY[i] = (byte) i;
+            }
+        }
+        private final byte[] permutation = new byte[256];
+        private final XoroshiroRandom random = new XoroshiroRandom(0L, 0L); // Draws the remaining shuffle steps
+        private int settled; // permutation[0 .. settled) is final
+        private double originX, originY, originZ;
+        private long generation = -1; // DoublePerlinNoise generation this octave is seeded for
+        // The filters sample a fixed column at several y-levels, so the x/z half of the lattice work of the last sample
+        // is kept for the next one (see setColumn). NaN when nothing is kept
+        private double columnX = Double.NaN, columnZ = Double.NaN;
+        private double lx, lz, fadeX, fadeZ;
+        private int cellZ, hashX0, hashX1;
+        // Seeds the octave from the random of its fork (lo, hi), reusing the permutation table
+        void reseed(long lo, long hi, long generation) {
+            random.setSeed(lo, hi);
+            originX = random.nextDouble() * 256.0;
+            originY = random.nextDouble() * 256.0;
+            originZ = random.nextDouble() * 256.0;
+            System.arraycopy(IDENTITY, 0, permutation, 0, 256);
+            settled = 0;
+            columnX = Double.NaN;
+            columnZ = Double.NaN;
+            this.generation = generation;
+        }
+        // Runs the shuffle steps up to and including index
+        private void settle(int index) {
+            for (int i = settled; i <= index; i++) {
+                int j = random.nextInt(256 - i);
+                byte b = permutation[i];
+                permutation[i] = permutation[i + j];
+                permutation[i + j] = b;
+            }
+            settled = index + 1;
+        }
+        double sample(double x, double y, double z) {
+            if (x != columnX || z != columnZ) {
+                setColumn(x, z);
+            }
+            double e = y + originY;
+            int j = floor(e);
+            double ly = e - j;
+            double lx = this.lx;
+            double lz = this.lz;
+            int k = cellZ;
+            int a = hashX0;
+            int b = hashX1;
+            int c = hash(a + j);
+            int dd = hash(a + j + 1);
+            int m = hash(b + j);
+            int n = hash(b + j + 1);
+            double v0 = grad(hash(c + k), lx, ly, lz);
+            double v1 = grad(hash(m + k), lx - 1, ly, lz);
+            double v2 = grad(hash(dd + k), lx, ly - 1, lz);
+            double v3 = grad(hash(n + k), lx - 1, ly - 1, lz);
+            double v4 = grad(hash(c + k + 1), lx, ly, lz - 1);
+            double v5 = grad(hash(m + k + 1), lx - 1, ly, lz - 1);
+            double v6 = grad(hash(dd + k + 1), lx, ly - 1, lz - 1);
+            double v7 = grad(hash(n + k + 1), lx - 1, ly - 1, lz - 1);
+            double r = fadeX;
+            double s = fade(ly);
+            double t = fadeZ;
+            return lerp(t, lerp(s, lerp(r, v0, v1), lerp(r, v2, v3)), lerp(s, lerp(r, v4, v5), lerp(r, v6, v7)));
+        }
+        // The part of sample() that only depends on x and z
+        private void setColumn(double x, double z) {
+            double d = x + originX;
+            double f = z + originZ;
+            int i = floor(d);
+            cellZ = floor(f);
+            lx = d - i;
+            lz = f - cellZ;
+            fadeX = fade(lx);
+            fadeZ = fade(lz);
+            hashX0 = hash(i);
+            hashX1 = hash(i + 1);
+            columnX = x;
+            columnZ = z;
+        }
+        private int hash(int i) {
+            int index = i & 0xFF;
+            if (index >= settled) {
+                settle(index);
+            }
+            return permutation[index] & 0xFF;
+        }
+        private static int floor(double value) {
+            int i = (int) value;
+            return value < (double) i ? i - 1 : i;
+        }
+        private static double grad(int hash, double x, double y, double z) {
+            int[] g = GRADIENTS[hash & 0xF];
+            return (double) g[0] * x + (double) g[1] * y + (double) g[2] * z;
+        }
+        private static double fade(double value) {
+            return value * value * value * (value * (value * 6.0 - 15.0) + 10.0);
+        }
+        private static double lerp(double delta, double start, double end) {
+            return start + delta * (end - start);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// Filter configuration compiled once per run (by the GUI on the EDT, or by the CLI) and shared read-only
+// by all workers, so the hot path never touches Swing models and changing the UI mid-run has no effect
+public final class FilterPlan {
+    public static final int RANGE_MIN_HEIGHT = 0;
+    public static final int RANGE_AVG_HEIGHT = 1;
+    public static final int RANGE_MAX_HEIGHT = 2;
+    // Default generation targets of the height check (SeedChecker TargetState names). The surface and bedrock checks
+    // look for a cave open to the sky in the terrain itself, which is final once the carvers ran, so they skip the
+    // features. The underwater check counts water blocks, and seagrass and kelp are features that replace them
+    public static final String TERRAIN_TARGET = "TERRAIN_ONLY";
+    public static final String FEATURES_TARGET = "NO_STRUCTURES";
+    public final int x;
+    public final int z;
+    public final int minDepth;
+    public final boolean entrance1Only;
+    public final boolean bedrockImpossible;
+    public final boolean checkHeight;
+    public final boolean underwaterHeight;
+    public final int[] range; // Relative "x1 z1 x2 z2", null when the range check is disabled
+    public final int rangeHeightType;
+    public final String heightTarget; // SeedChecker TargetState of the height check by name, never null
+    private final ParameterCondition[] conditions; // Indexed by ParameterType.ordinal(), null when disabled
+    final FilterStage[] stages; // Stages of checkNormal in the default order; checks that always pass are left out
+    final CoordinatePlan points; // Octave coordinates of every sampled position
+    public FilterPlan(int x, int z, int minDepth, boolean entrance1Only, boolean bedrockImpossible, boolean checkHeight,
+                      boolean underwaterHeight, int[] range, int rangeHeightType, String heightTarget,
+                      ParameterCondition[] conditions) {
+        this.x = x;
+        this.z = z;
+        this.minDepth = minDepth;
+        this.entrance1Only = entrance1Only;
+        this.bedrockImpossible = bedrockImpossible;
+        this.checkHeight = checkHeight;
+        this.underwaterHeight = underwaterHeight;
+        this.range = range;
+        this.rangeHeightType = rangeHeightType;
+        this.heightTarget = heightTarget == null || heightTarget.isBlank() ? defaultHeightTarget()
+                : heightTarget.trim().toUpperCase(Locale.ROOT);
+        this.conditions = conditions;
+        this.stages = buildStages();
+        this.points = new CoordinatePlan(x, z, minDepth);
+    }
+    // Temperature and humidity first, erosion and ridge before the caves (after them when only filtering Entrance1),
+    // Entrance at 50 and 60, the cave levels, continentalness, aquifer
+    private FilterStage[] buildStages() {
+        List<FilterStage> stages = new ArrayList<>();
+        addIfEnabled(stages, ParameterType.TEMPERATURE, FilterStage.Kind.TEMPERATURE);
+        addIfEnabled(stages, ParameterType.HUMIDITY, FilterStage.Kind.HUMIDITY);
+        if (!entrance1Only) {
+            addIfEnabled(stages, ParameterType.EROSION, FilterStage.Kind.EROSION);
+            addIfEnabled(stages, ParameterType.RIDGE, FilterStage.Kind.RIDGE);
+        }
+        boolean entrance = isEnabled(ParameterType.ENTRANCE);
+        boolean cheese = isEnabled(ParameterType.CHEESE);
+        if (entrance) {
+            stages.add(new FilterStage(FilterStage.Kind.ENTRANCE, 50, entrance1Only));
+            stages.add(new FilterStage(FilterStage.Kind.ENTRANCE, 60, entrance1Only));
+        }
+        for (int y = minDepth; y <= 40; y += 10) {
+            // Entrance OR Cheese always passes when either of them is disabled; below 0 Entrance1 mode only has Cheese
+            boolean checked = y < 0 && entrance1Only ? cheese : entrance && cheese;
+            if (checked) {
+                stages.add(new FilterStage(FilterStage.Kind.CAVE_LEVEL, y, entrance1Only));
+            }
+        }
+        if (entrance1Only) {
+            addIfEnabled(stages, ParameterType.EROSION, FilterStage.Kind.EROSION);
+            addIfEnabled(stages, ParameterType.RIDGE, FilterStage.Kind.RIDGE);
+        }
+        addIfEnabled(stages, ParameterType.CONTINENTALNESS, FilterStage.Kind.CONTINENTALNESS);
+        addIfEnabled(stages, ParameterType.AQUIFER, FilterStage.Kind.AQUIFER);
+        return stages.toArray(new FilterStage[0]);
+    }
+    private void addIfEnabled(List<FilterStage> stages, ParameterType type, FilterStage.Kind kind) {
+        if (isEnabled(type)) {
+            stages.add(new FilterStage(kind, 0, entrance1Only));
+        }
+    }
+    public boolean check(ParameterType type, double value) {
+        ParameterCondition condition = conditions[type.ordinal()];
+        return condition == null || condition.test(value); // If not enabled, pass
+    }
+    // Null when disabled
+    ParameterCondition condition(ParameterType type) {
+        return conditions[type.ordinal()];
+    }
+    public boolean isEnabled(ParameterType type) {
+        return conditions[type.ordinal()] != null;
+    }
+    // Stable text form of every setting, used for the checkpoint fingerprint
+    public String describe() {
+        StringBuilder description = new StringBuilder();
+        description.append("x=").append(x).append(",z=").append(z).append(",depth=").append(minDepth)
+                .append(",entrance1Only=").append(entrance1Only).append(",bedrockImpossible=").append(bedrockImpossible)
+                .append(",checkHeight=").append(checkHeight).append(",underwater=").append(underwaterHeight)
+                .append(",range=").append(Arrays.toString(range)).append(",rangeType=").append(rangeHeightType);
+        if (checkHeight) {
+            // Hits of different generation targets must not end up in one result file. The default is resolved in
+            // the constructor, so a checkpoint of the CLI default also resumes with the target picked in the GUI
+            description.append(",heightTarget=").append(heightTarget);
+        }
+        for (ParameterType type : ParameterType.values()) {
+            ParameterCondition condition = conditions[type.ordinal()];
+            description.append(',').append(type).append('=').append(condition == null ? "off" : condition.describe());
+        }
+        return description.toString();
+    }
+    // The shallowest generation target the height check of this plan is still exact with
+    private String defaultHeightTarget() {
+        return underwaterHeight && !bedrockImpossible ? FEATURES_TARGET : TERRAIN_TARGET;
+    }
+    // Parse and validate "x1 z1 x2 z2" once per run; the message of the exception is already localized
+    public static int[] parseRange(String coordText, Language lang) {
+        String[] parts = coordText.trim().split("\\s+");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException(LanguageResources.get("invalid_range_coord_format", lang));
+        }
+        int[] range = new int[4];
+        try {
+            for (int i = 0; i < 4; i++) {
+                range[i] = Integer.parseInt(parts[i]);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(LanguageResources.get("invalid_number_in_range", lang) + e.getMessage());
+        }
+        // Validate range (max ±16)
+        for (int value : range) {
+            if (Math.abs(value) > 16) {
+                throw new IllegalArgumentException(LanguageResources.get("range_coord_out_of_range", lang));
+            }
+        }
+        // Validate that max coordinates are greater than min coordinates
+        if (range[0] >= range[2]) {
+            throw new IllegalArgumentException(LanguageResources.get("max_x_greater_than_min_x", lang));
+        }
+        if (range[1] >= range[3]) {
+            throw new IllegalArgumentException(LanguageResources.get("max_z_greater_than_min_z", lang));
+        }
+        return range;
+    }
+}
@@ -0,0 +1,35 @@
+import java.util.Locale;
+
+// One independent check of SeedFilter.checkNormal. A seed passes only when it passes every stage, and stages have no
+// side effect besides deriving samplers of the NoiseCache, so they may run in any order with the same result
+final class FilterStage {
+    enum Kind {
+        TEMPERATURE, HUMIDITY, EROSION, RIDGE, CONTINENTALNESS,
+        ENTRANCE,   // Entrance (Entrance1 in entrance1Only mode) at y, without Cheese (y = 50 and 60)
+        CAVE_LEVEL, // Entrance or Cheese at y (y <= 40); below 0 Entrance2 is used, or only Cheese in entrance1Only mode
+        AQUIFER     // Aquifer at every level from the cave depth to 60
+    }
+    final Kind kind;
+    final int y; // ENTRANCE and CAVE_LEVEL only
+    final int samplers; // NoiseCache.Sampler bits of everything the stage samples
+    FilterStage(Kind kind, int y, boolean entrance1Only) {
+        this.kind = kind;
+        this.y = y;
+        int entrance = NoiseCache.Sampler.CAVE_ENTRANCE.bit() | (entrance1Only ? 0 : NoiseCache.Sampler.SPAGHETTI);
+        int cheese = NoiseCache.Sampler.mask(NoiseCache.Sampler.CAVE_LAYER, NoiseCache.Sampler.CAVE_CHEESE);
+        this.samplers = switch (kind) {
+            case TEMPERATURE -> NoiseCache.Sampler.TEMPERATURE.bit();
+            case HUMIDITY -> NoiseCache.Sampler.HUMIDITY.bit();
+            case EROSION -> NoiseCache.Sampler.EROSION.bit();
+            case RIDGE -> NoiseCache.Sampler.RIDGE.bit();
+            case CONTINENTALNESS -> NoiseCache.Sampler.CONTINENTALNESS.bit();
+            case ENTRANCE -> entrance;
+            case CAVE_LEVEL -> y >= 0 ? entrance | cheese : (entrance1Only ? 0 : NoiseCache.Sampler.SPAGHETTI) | cheese;
+            case AQUIFER -> NoiseCache.Sampler.AQUIFER.bit();
+        };
+    }
+    String describe() {
+        String name = kind.name().toLowerCase(Locale.ROOT);
+        return kind == Kind.ENTRANCE || kind == Kind.CAVE_LEVEL ? name + "@" + y : name;
+    }
+}
@@ -0,0 +1,160 @@
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongConsumer;
+
+// Second stage of a "Check Height" run. The noise workers only filter: every seed that passes is queued here and
+// checked by a pool of height check threads of its own, so the seconds SeedChecker spends generating chunks never
+// hold up the noise filters. The queue is bounded; when the height checks fall behind, a noise worker waits for a free
+// place instead of piling up candidates (backpressure). A check that throws (including errors such as running out of
+// memory) stops the whole run at once: a candidate that is never decided must not let its slice count as done.
+final class HeightCheckStage {
+    // Candidates of one checkpoint slice. The slice is done once the noise stage has filtered all of its seeds and
+    // every candidate it queued has been decided, so the checkpoint never covers a candidate that is still waiting
+    final class Slice {
+        private final AtomicInteger pending = new AtomicInteger(1); // Undecided candidates, plus one while filtering
+        private volatile Runnable onDone;
+        // Called by the noise workers; waits while the queue is full
+        void submit(long seed) {
+            pending.incrementAndGet();
+            enqueue(new Candidate(seed, this));
+        }
+        // Called once the noise stage has filtered every seed of the slice; onDone runs on the thread that decides
+        // the last candidate, or right away when none is left. A candidate dropped by Stop keeps it from running
+        void finish(Runnable onDone) {
+            this.onDone = onDone;
+            decided();
+        }
+        private void decided() {
+            if (pending.decrementAndGet() == 0) {
+                onDone.run();
+            }
+        }
+    }
+    private static final class Candidate {
+        final long seed;
+        final Slice slice;
+        Candidate(long seed, Slice slice) {
+            this.seed = seed;
+            this.slice = slice;
+        }
+    }
+    private static final long POLL_MS = 100; // How often waiting threads look at the running flag
+    private final HeightChecker checker;
+    private final LongConsumer hits;
+    private final BooleanSupplier running;
+    private final Runnable stopRun;
+    private final BlockingQueue<Candidate> queue;
+    private final int capacity;
+    private final Thread[] threads;
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder decided = new LongAdder();
+    private final LongAdder stalledNanos = new LongAdder(); // Noise worker time spent waiting for a free place
+    private volatile boolean closed = false; // Set once the noise stage is done, nothing is queued after that
+    private volatile Throwable failure; // First exception or error of a height check thread
+    // hits receives the candidates that pass, on the height check threads. stopRun is called when a height check fails
+    HeightCheckStage(HeightChecker checker, int threadCount, int capacity, LongConsumer hits, BooleanSupplier running,
+                     Runnable stopRun) {
+        this.checker = checker;
+        this.hits = hits;
+        this.running = running;
+        this.stopRun = stopRun;
+        this.capacity = capacity;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(this::work, "height-check-" + i);
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+    }
+    Slice openSlice() {
+        return new Slice();
+    }
+    private void enqueue(Candidate candidate) {
+        if (queue.offer(candidate)) {
+            queued.increment();
+            return;
+        }
+        long waitStart = System.nanoTime();
+        try {
+            while (!queue.offer(candidate, POLL_MS, TimeUnit.MILLISECONDS)) {
+                if (!running.getAsBoolean() || failure != null) {
+                    return; // The candidate is dropped with its slice, which is redone on resume
+                }
+            }
+            queued.increment();
+        } catch (InterruptedException e) {
+            // Stop shut the noise pool down
+            Thread.currentThread().interrupt();
+        } finally {
+            stalledNanos.add(System.nanoTime() - waitStart);
+        }
+    }
+    private void work() {
+        try {
+            while (running.getAsBoolean()) {
+                Candidate candidate = queue.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                if (candidate == null) {
+                    if (closed) {
+                        return;
+                    }
+                    continue;
+                }
+                if (checker.check(candidate.seed)) {
+                    hits.accept(candidate.seed);
+                }
+                decided.increment();
+                candidate.slice.decided();
+            }
+        } catch (InterruptedException e) {
+            // shutdownNow
+        } catch (Throwable e) {
+            if (failure == null) {
+                failure = e;
+            }
+            stopRun.run();
+        }
+    }
+    // Called once the noise stage is done: waits until every queued candidate has been decided, or the run stopped
+    void finish() throws InterruptedException {
+        closed = true;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+    // The exception or error that stopped the run, null if no height check failed
+    Throwable failure() {
+        return failure;
+    }
+    // Releases the threads without waiting for the queue, after Stop or an exception; does nothing after finish()
+    void shutdownNow() {
+        closed = true;
+        queue.clear();
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+    }
+    int threadCount() {
+        return threads.length;
+    }
+    int queueDepth() {
+        return queue.size();
+    }
+    int queueCapacity() {
+        return capacity;
+    }
+    // Candidates the noise stage has queued, and those of them the height checks have decided, during this run
+    long queuedCount() {
+        return queued.sum();
+    }
+    long decidedCount() {
+        return decided.sum();
+    }
+    long stalledMs() {
+        return TimeUnit.NANOSECONDS.toMillis(stalledNanos.sum());
+    }
+}
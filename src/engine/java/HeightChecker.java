@@ -0,0 +1,178 @@
+import net.minecraft.block.Block;
+import net.minecraft.block.Blocks;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.chunk.Chunk;
+import nl.jellejurre.seedchecker.SeedChecker;
+import nl.jellejurre.seedchecker.SeedCheckerDimension;
+import nl.jellejurre.seedchecker.TargetState;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+// The "Check Height" step of a run: generates the terrain of a seed that passed the noise filters with SeedChecker
+// and checks the surface (or water) height at the searched position.
+//
+// SeedChecker builds its world generator for a single seed in the constructor and cannot be switched to another seed,
+// so every candidate gets a checker of its own; its generated chunks are freed as soon as the candidate is decided.
+// The seed-independent state (registries, settings) is created once per process by SeedCheckerInitializer.
+final class HeightChecker {
+    private static final int SURFACE_TOP = 199; // Highest block of the surface height check
+    private static final int WATER_TOP = 61; // Highest block of the underwater height check (sea level)
+    // Target of the height check when this version of SeedChecker does not have the one of the plan
+    private static final TargetState FALLBACK_TARGET = TargetState.NO_STRUCTURES;
+    private final FilterPlan plan;
+    private final int[] rangeColumns; // See rangeColumns(plan)
+    private final TargetState target; // Generation status SeedChecker brings the chunks to
+    private final Consumer<String> log;
+    private final Language language;
+    HeightChecker(FilterPlan plan, Consumer<String> log, Language language) {
+        this.plan = plan;
+        this.rangeColumns = rangeColumns(plan);
+        this.log = log;
+        this.language = language;
+        this.target = target(plan.heightTarget);
+    }
+    // plan.heightTarget, or FALLBACK_TARGET when this version of SeedChecker does not have it
+    private TargetState target(String name) {
+        try {
+            return TargetState.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            log.accept(String.format(LanguageResources.get("height_target_unknown", language), name, FALLBACK_TARGET,
+                    Arrays.toString(TargetState.values())));
+            return FALLBACK_TARGET;
+        }
+    }
+    boolean check(long seed) {
+        int x = plan.x;
+        int z = plan.z;
+        if (!SeedCheckerInitializer.isInitialized()) {
+            log.accept(LanguageResources.get("seedchecker_not_init", language));
+            return true;
+        }
+        SeedChecker checker = null;
+        try {
+            checker = new SeedChecker(seed, target, SeedCheckerDimension.OVERWORLD);
+            if (plan.bedrockImpossible) {
+                // Bedrock impossible mode: use original logic, no type selection. Air from -54 up in all 4 columns
+                return isFilled(checker, Blocks.AIR, x+8, z+6, SURFACE_TOP, -54)
+                        && isFilled(checker, Blocks.AIR, x-8, z-6, SURFACE_TOP, -54)
+                        && isFilled(checker, Blocks.AIR, x+8, z-6, SURFACE_TOP, -54)
+                        && isFilled(checker, Blocks.AIR, x-8, z+6, SURFACE_TOP, -54);
+            } else {
+                // Check if range check is enabled
+                if (rangeColumns != null) {
+                    return checkInRange(checker);
+                } else {
+                    // Single point check: air (water for the underwater height) from the cave depth up
+                    if (plan.underwaterHeight) {
+                        return isFilled(checker, Blocks.WATER, x, z, WATER_TOP, plan.minDepth);
+                    } else {
+                        return isFilled(checker, Blocks.AIR, x, z, SURFACE_TOP, plan.minDepth);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.accept(LanguageResources.get("height_check_failed", language) + e.getMessage());
+            return false;
+        } finally {
+            if (checker != null) {
+                checker.clearMemory();
+            }
+        }
+    }
+    // One pass over the columns of the range, chunk by chunk. The floor of every column is sampled, and the range
+    // passes when the floor picked by plan.rangeHeightType lies below the cave depth: the lowest floor (some column is
+    // open down to the depth), the average floor, or the highest floor (every column is open down to the depth)
+    private boolean checkInRange(SeedChecker checker) {
+        try {
+            int minDepth = plan.minDepth;
+            Block block = plan.underwaterHeight ? Blocks.WATER : Blocks.AIR;
+            int topY = plan.underwaterHeight ? WATER_TOP : SURFACE_TOP;
+            int count = 0;
+            long sum = 0;
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            Chunk chunk = null;
+            int chunkX = 0;
+            int chunkZ = 0;
+            for (int i = 0; i < rangeColumns.length; i += 2) {
+                int x = rangeColumns[i];
+                int z = rangeColumns[i + 1];
+                if (chunk == null || x >> 4 != chunkX || z >> 4 != chunkZ) {
+                    chunkX = x >> 4;
+                    chunkZ = z >> 4;
+                    chunk = checker.getOrBuildChunk(chunkX, chunkZ);
+                }
+                int floor = floor(checker, chunk, block, x, z, topY, minDepth);
+                count++;
+                sum += floor;
+                min = Math.min(min, floor);
+                max = Math.max(max, floor);
+                // The lowest and highest floor are decided by the first column that is open or blocked
+                if (plan.rangeHeightType == FilterPlan.RANGE_MIN_HEIGHT && min < minDepth) {
+                    return true;
+                }
+                if (plan.rangeHeightType == FilterPlan.RANGE_MAX_HEIGHT && max >= minDepth) {
+                    return false;
+                }
+            }
+            return switch (plan.rangeHeightType) {
+                case FilterPlan.RANGE_MIN_HEIGHT -> min < minDepth;
+                case FilterPlan.RANGE_AVG_HEIGHT -> (double) sum / count < minDepth;
+                case FilterPlan.RANGE_MAX_HEIGHT -> max < minDepth;
+                default -> false;
+            };
+        } catch (Exception e) {
+            log.accept(LanguageResources.get("range_height_check_failed", language) + e.getMessage());
+            return false;
+        }
+    }
+    // Whether every block of column (x, z) from topY down to bottomY is block
+    private static boolean isFilled(SeedChecker checker, Block block, int x, int z, int topY, int bottomY) {
+        return floor(checker, checker.getOrBuildChunk(x >> 4, z >> 4), block, x, z, topY, bottomY) < bottomY;
+    }
+    // The floor of column (x, z): the highest block at or below topY that is not block, or a height below bottomY when
+    // the column is block from topY down to bottomY. The chunk's heightmap gives the top solid block (the top non-air
+    // block for air, the top block that is neither water nor a water plant for water) without reading the column; a
+    // top inside topY..bottomY blocks the column. Otherwise the column is read from the top, because the heightmap
+    // does not see cave air, kelp or seagrass, and an overhang above topY hides what is below it
+    private static int floor(SeedChecker checker, Chunk chunk, Block block, int x, int z, int topY, int bottomY) {
+        int top = chunk.sampleHeightmap(block == Blocks.WATER ? Heightmap.Type.OCEAN_FLOOR : Heightmap.Type.WORLD_SURFACE,
+                x, z);
+        if (top >= bottomY && top <= topY) {
+            return top;
+        }
+        for (int y = topY; y >= bottomY; y--) {
+            if (checker.getBlock(x, y, z) != block) {
+                return y;
+            }
+        }
+        return top < bottomY ? top : bottomY - 1;
+    }
+    // x, z pairs of the columns of plan.range, ordered chunk by chunk, so checkInRange fetches every chunk once and
+    // scans all of its columns while it is the most recent one. Null without a range
+    private static int[] rangeColumns(FilterPlan plan) {
+        if (plan.range == null || plan.bedrockImpossible) {
+            return null;
+        }
+        // Range coordinates were parsed and validated when the plan was compiled
+        int[] range = plan.range;
+        int minX = plan.x + range[0];
+        int maxX = plan.x + range[2];
+        int minZ = plan.z + range[1];
+        int maxZ = plan.z + range[3];
+        int[] columns = new int[2 * (maxX - minX + 1) * (maxZ - minZ + 1)];
+        int i = 0;
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                for (int x = Math.max(minX, chunkX << 4); x <= Math.min(maxX, (chunkX << 4) + 15); x++) {
+                    for (int z = Math.max(minZ, chunkZ << 4); z <= Math.min(maxZ, (chunkZ << 4) + 15); z++) {
+                        columns[i++] = x;
+                        columns[i++] = z;
+                    }
+                }
+            }
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,12 @@
+public enum Language {
+    CHINESE("中文"),
+    ENGLISH("English");
+    private final String displayName;
+    Language(String displayName) {
+        this.displayName = displayName;
+    }
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
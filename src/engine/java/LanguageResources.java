@@ -0,0 +1,143 @@
+// Language resources management
+public final class LanguageResources {
+    public static String get(String key, Language lang) {
+        return switch (key) {
+            // Window title
+            case "title" -> lang == Language.CHINESE ? "洞穴查找器 GUI" : "Cave Finder GUI";
+            // Static initialization messages
+            case "static_init_start" -> lang == Language.CHINESE ? "CavefinderGUI 静态初始化开始..." : "CavefinderGUI static initialization starting...";
+            case "static_init_warning" -> lang == Language.CHINESE ? "CavefinderGUI 静态初始化警告: " : "CavefinderGUI static initialization warning: ";
+            // UI Labels
+            case "param_settings" -> lang == Language.CHINESE ? "参数设置" : "Parameter Settings";
+            case "cave_depth" -> lang == Language.CHINESE ? "洞穴深度:" : "Cave Depth:";
+            case "thread_count" -> lang == Language.CHINESE ? "线程数:" : "Thread Count:";
+            case "height_thread_count" -> lang == Language.CHINESE ? "高度检查线程:" : "Height Threads:";
+            case "x_coordinate" -> lang == Language.CHINESE ? "X坐标:" : "X Coordinate:";
+            case "z_coordinate" -> lang == Language.CHINESE ? "Z坐标:" : "Z Coordinate:";
+            case "check_height" -> lang == Language.CHINESE ? "筛高度（较慢）" : "Check height (slower)";
+            case "filter_be_impossible" -> lang == Language.CHINESE ? "筛基岩版无解种子" : "Filter BE impossible seeds";
+            case "entrance1_only" -> lang == Language.CHINESE ? "只筛Entrance1（更大洞穴）" : "Entrance1 only (larger caves)";
+            case "filter_mode" -> lang == Language.CHINESE ? "筛选模式" : "Filter Mode";
+            case "search_mode" -> lang == Language.CHINESE ? "搜索模式" : "Search Mode";
+            case "incremental" -> lang == Language.CHINESE ? "递增筛种" : "Incremental";
+            case "filter_from_list" -> lang == Language.CHINESE ? "从列表筛种" : "Filter from list";
+            case "seed_type" -> lang == Language.CHINESE ? "种子类型" : "Seed Type";
+            case "seed_input" -> lang == Language.CHINESE ? "种子输入" : "Seed Input";
+            case "start_seed" -> lang == Language.CHINESE ? "起始种子:" : "Start Seed:";
+            case "end_seed" -> lang == Language.CHINESE ? "结束种子:" : "End Seed:";
+            case "seed_list" -> lang == Language.CHINESE ? "种子列表（每行一个）:" : "Seed List (one per line):";
+            case "load_from_file" -> lang == Language.CHINESE ? "从文件加载" : "Load from file";
+            case "biome_params" -> lang == Language.CHINESE ? "群系气候参数" : "Biome Climate Parameters";
+            case "log" -> lang == Language.CHINESE ? "日志" : "Log";
+            case "export_path" -> lang == Language.CHINESE ? "导出路径:" : "Export Path:";
+            case "browse" -> lang == Language.CHINESE ? "浏览..." : "Browse...";
+            case "start_filtering" -> lang == Language.CHINESE ? "开始筛选" : "Start Filtering";
+            case "stop" -> lang == Language.CHINESE ? "停止" : "Stop";
+            case "resume" -> lang == Language.CHINESE ? "继续上次筛选" : "Resume";
+            case "ready" -> lang == Language.CHINESE ? "就绪" : "Ready";
+            // Height check options
+            case "height_check_options" -> lang == Language.CHINESE ? "高度检查选项" : "Height Check Options";
+            case "height_type" -> lang == Language.CHINESE ? "高度类型:" : "Height Type:";
+            case "surface_height" -> lang == Language.CHINESE ? "地表高度" : "Surface Height";
+            case "underwater_height" -> lang == Language.CHINESE ? "水下高度" : "Underwater Height";
+            case "check_height_in_range" -> lang == Language.CHINESE ? "检查一定范围内的高度" : "Check height in range";
+            case "range_height_type" -> lang == Language.CHINESE ? "范围高度类型:" : "Range Height Type:";
+            case "height_target" -> lang == Language.CHINESE ? "生成阶段:" : "Generation Target:";
+            case "height_target_default" -> lang == Language.CHINESE ? "默认（按检查类型）" : "Default (by check)";
+            case "height_target_tooltip" -> lang == Language.CHINESE ? "高度检查时 SeedChecker 生成区块的阶段。默认: 地表和基岩检查只生成地形 (" + FilterPlan.TERRAIN_TARGET + ")，水下检查还生成海草、海带等地物 (" + FilterPlan.FEATURES_TARGET + ")。较浅的阶段更快，但可能放过会被树木、藤蔓等地物挡住的柱子" : "How far SeedChecker generates the chunks of the height check. By default the surface and bedrock checks generate the terrain only (" + FilterPlan.TERRAIN_TARGET + ") and the underwater check also the features such as seagrass and kelp (" + FilterPlan.FEATURES_TARGET + "). Shallower targets are faster, but can pass columns that a tree, vine or other feature would block";
+            case "range_coordinates" -> lang == Language.CHINESE ? "范围坐标:" : "Range Coordinates:";
+            case "range_coord_tooltip" -> lang == Language.CHINESE ? "格式: x1 z1 x2 z2 (相对于基准坐标，最大 ±16)" : "Format: x1 z1 x2 z2 (relative to base coordinates, max ±16)";
+            case "min_height" -> lang == Language.CHINESE ? "最低高度" : "Minimum Height";
+            case "avg_height" -> lang == Language.CHINESE ? "平均高度" : "Average Height";
+            case "max_height" -> lang == Language.CHINESE ? "最高高度" : "Maximum Height";
+            // Language selection
+            case "language" -> "语言(Language):";
+            // Error messages
+            case "error" -> lang == Language.CHINESE ? "错误" : "Error";
+            case "invalid_seed_numbers" -> lang == Language.CHINESE ? "请输入有效的种子数字" : "Please enter valid seed numbers";
+            case "enter_seed_list" -> lang == Language.CHINESE ? "请输入种子列表或从文件加载" : "Please enter seed list or load from file";
+            case "cannot_access_dir" -> lang == Language.CHINESE ? "无法访问导出路径的目录：" : "Cannot access directory of export path: ";
+            case "please_select_other" -> lang == Language.CHINESE ? "\n请选择其他路径。" : "\nPlease select another path.";
+            case "cannot_access_path" -> lang == Language.CHINESE ? "无法访问导出路径：" : "Cannot access export path: ";
+            case "access_denied" -> lang == Language.CHINESE ? "\n访问被拒绝。请选择其他路径。" : "\nAccess denied. Please select another path.";
+            case "error_colon" -> lang == Language.CHINESE ? "\n错误：" : "\nError: ";
+            case "file_exists_overwrite" -> lang == Language.CHINESE ? "结果文件已存在，将被覆盖。是否继续？" : "Result file already exists and will be overwritten. Continue?";
+            case "reminder" -> lang == Language.CHINESE ? "提醒" : "Reminder";
+            case "load_file_failed" -> lang == Language.CHINESE ? "加载文件失败: " : "Failed to load file: ";
+            case "select_export_path" -> lang == Language.CHINESE ? "选择导出路径" : "Select Export Path";
+            case "invalid_range_coord_format" -> lang == Language.CHINESE ? "错误: 无效的范围坐标格式。期望格式: x1 z1 x2 z2" : "Error: Invalid range coordinates format. Expected: x1 z1 x2 z2";
+            case "range_coord_out_of_range" -> lang == Language.CHINESE ? "错误: 范围坐标必须在 ±16 以内" : "Error: Range coordinates must be within ±16";
+            case "max_x_greater_than_min_x" -> lang == Language.CHINESE ? "错误: 最大X坐标应大于最小X坐标" : "Error: Maximum X coordinate should be greater than minimum X coordinate";
+            case "max_z_greater_than_min_z" -> lang == Language.CHINESE ? "错误: 最大Z坐标应大于最小Z坐标" : "Error: Maximum Z coordinate should be greater than minimum Z coordinate";
+            // Log messages
+            case "file_loaded" -> lang == Language.CHINESE ? "已加载文件: " : "Loaded file: ";
+            case "seed_file_preview" -> lang == Language.CHINESE ? "筛选时直接读取该文件，列表中仅显示前 %d 行；手动编辑列表将改为使用列表内容" : "Seeds are read directly from the file; the list only shows the first %d lines. Editing the list switches to its contents";
+            case "seed_file_released" -> lang == Language.CHINESE ? "列表已编辑，不再使用已加载的文件" : "List edited, the loaded file is no longer used";
+            case "filtering_stopped" -> lang == Language.CHINESE ? "筛选已停止" : "Filtering stopped";
+            case "checking_seedchecker" -> lang == Language.CHINESE ? "检查 SeedChecker 状态..." : "Checking SeedChecker status...";
+            case "attempting_init_seedchecker" -> lang == Language.CHINESE ? "尝试初始化 SeedChecker..." : "Attempting to initialize SeedChecker...";
+            case "seedchecker_ready" -> lang == Language.CHINESE ? "SeedChecker 已就绪" : "SeedChecker ready";
+            case "seedchecker_init_failed" -> lang == Language.CHINESE ? "警告: SeedChecker 初始化失败，高度检查可能不可用" : "Warning: SeedChecker initialization failed, height check may not be available";
+            case "seedchecker_check_exception" -> lang == Language.CHINESE ? "SeedChecker 检查过程中出现异常: " : "Exception during SeedChecker check: ";
+            case "starting_filtering" -> lang == Language.CHINESE ? "开始筛选: %d - %d (共 %d 个种子)" : "Starting filtering: %d - %d (Total %d seeds)";
+            case "structure_range_too_large" -> lang == Language.CHINESE ? "结构种子范围超过 2^48 个种子" : "StructureSeed range is larger than 2^48 seeds";
+            case "starting_list_filtering" -> lang == Language.CHINESE ? "开始筛选列表 (共 %d 个种子)" : "Starting list filtering (Total %d seeds)";
+            case "skipping_invalid_seed" -> lang == Language.CHINESE ? "跳过无效种子: " : "Skipping invalid seed: ";
+            case "invalid_seeds_skipped" -> lang == Language.CHINESE ? "共跳过 %d 个无效种子" : "Skipped %d invalid seeds in total";
+            case "filtering_completed" -> lang == Language.CHINESE ? "筛选完成！结果已保存到 " : "Filtering completed! Results saved to ";
+            case "total_time" -> lang == Language.CHINESE ? "总用时: %s, 平均速度: %s seeds/秒" : "Total time: %s, Average speed: %s seeds/second";
+            case "error_colon_msg" -> lang == Language.CHINESE ? "错误: " : "Error: ";
+            case "seedchecker_not_init" -> lang == Language.CHINESE ? "警告: SeedChecker 未初始化，跳过高度检查" : "Warning: SeedChecker not initialized, skipping height check";
+            case "height_check_failed" -> lang == Language.CHINESE ? "错误: 高度检查失败: " : "Error: Height check failed: ";
+            case "height_target_unknown" -> lang == Language.CHINESE ? "警告: SeedChecker 没有生成目标 %s，高度检查改用 %s（可用: %s）" : "Warning: SeedChecker has no generation target %s, the height check uses %s (available: %s)";
+            case "range_height_check_failed" -> lang == Language.CHINESE ? "错误: 范围高度检查失败: " : "Error: Range height check failed: ";
+            case "invalid_number_in_range" -> lang == Language.CHINESE ? "错误: 范围坐标中的无效数字: " : "Error: Invalid number in range coordinates: ";
+            case "found_seed" -> lang == Language.CHINESE ? "找到种子: " : "Found seed: ";
+            case "found_seeds_in_interval" -> lang == Language.CHINESE ? "最近 %2$.1f 秒内找到 %1$d 个种子 (最新: %3$d)" : "Found %d seeds in the last %.1f s (latest: %d)";
+            case "checkpoint_resumed" -> lang == Language.CHINESE ? "从断点继续: 已完成 %d/%d 个分片" : "Resuming from checkpoint: %d/%d slices already done";
+            case "checkpoint_not_found" -> lang == Language.CHINESE ? "未找到断点文件，从头开始（保留已有结果）" : "No checkpoint found, starting from the beginning (existing results are kept)";
+            case "checkpoint_saved" -> lang == Language.CHINESE ? "已保存断点 (已完成 %d 个分片): %s" : "Checkpoint saved (%d slices done): %s";
+            case "checkpoint_save_failed" -> lang == Language.CHINESE ? "保存断点失败: " : "Failed to save checkpoint: ";
+            case "checkpoint_mismatch" -> lang == Language.CHINESE ? "断点文件与当前设置不一致，无法继续: " : "Checkpoint was made with different settings and cannot be resumed: ";
+            case "no_checkpoint" -> lang == Language.CHINESE ? "没有找到可继续的断点文件: " : "No checkpoint to resume: ";
+            case "noise_port_mismatch" -> lang == Language.CHINESE ? "内置噪声实现与噪声库结果不一致: " : "Built-in noise differs from the noise library: ";
+            case "stage_order" -> lang == Language.CHINESE ? "筛选阶段顺序: %s (预计每个种子 %.1f 微秒)" : "Filter stage order: %s (estimated %.1f microseconds per seed)";
+            case "total_hits" -> lang == Language.CHINESE ? "共找到 %d 个种子" : "Total seeds found: %d";
+            case "height_stage_started" -> lang == Language.CHINESE ? "高度检查独立运行: %d 个噪声筛选线程, %d 个高度检查线程, 候选队列容量 %d" : "Height check runs as its own stage: %d noise filter threads, %d height check threads, candidate queue of %d";
+            case "height_stage_progress" -> lang == Language.CHINESE ? "高度检查: 已检查 %d/%d 个候选种子 (%s 个/秒) | 队列: %d/%d | 噪声筛选等待队列: %s" : "Height check: %d/%d candidates checked (%s/s) | Queue: %d/%d | Noise filters waited for the queue: %s";
+            case "height_stage_failed" -> lang == Language.CHINESE ? "高度检查出错，已停止筛选: " : "A height check failed and stopped the run: ";
+            case "run_incomplete" -> lang == Language.CHINESE ? "筛选结束时仍有未完成的分片，已保留断点，可以继续筛选" : "The run ended with unfinished slices; the checkpoint was kept so that it can be resumed";
+            // Status messages
+            case "completed" -> lang == Language.CHINESE ? "已完成: %d | 用时: %s | 速度: %s seeds/秒" : "Completed: %d | Time: %s | Speed: %s seeds/second";
+            case "progress_format" -> lang == Language.CHINESE ? "%d/%d (%d%%) | 用时: %s | 速度: %s seeds/秒" : "%d/%d (%d%%) | Time: %s | Speed: %s seeds/second";
+            // Time format
+            case "time_hms" -> lang == Language.CHINESE ? "%d时%02d分%02d秒" : "%dh%02dm%02ds";
+            case "time_ms" -> lang == Language.CHINESE ? "%d分%02d秒" : "%dm%02ds";
+            case "time_s" -> lang == Language.CHINESE ? "%.1f秒" : "%.1fs";
+            // Parameter names
+            case "param_temperature" -> lang == Language.CHINESE ? "温度" : "Temperature";
+            case "param_humidity" -> lang == Language.CHINESE ? "湿度" : "Humidity";
+            case "param_erosion" -> lang == Language.CHINESE ? "侵蚀度" : "Erosion";
+            case "param_ridge" -> lang == Language.CHINESE ? "奇异性" : "Weirdness";
+            case "param_entrance" -> lang == Language.CHINESE ? "洞穴入口噪声" : "Entrance";
+            case "param_cheese" -> lang == Language.CHINESE ? "芝士洞穴噪声" : "Cheese";
+            case "param_continentalness" -> lang == Language.CHINESE ? "大陆性" : "Continentalness";
+            case "param_aquifer" -> lang == Language.CHINESE ? "含水层洪水水位噪声" : "AquiferFloodLevelFloodness";
+
+            // Seed type names
+            case "structure_seed" -> lang == Language.CHINESE ? "结构种子(低48位二进制)" : "StructureSeed(low48bit)";
+            case "world_seed" -> lang == Language.CHINESE ? "世界种子" : "WorldSeed";
+            default -> key;
+        };
+    }
+    public static String getConditionTypeName(ConditionType type, Language lang) {
+        return switch (type) {
+            case BETWEEN -> lang == Language.CHINESE ? "介于两值之间" : "Between two values";
+            case GREATER_THAN -> lang == Language.CHINESE ? "大于某值" : "Greater than";
+            case LESS_THAN -> lang == Language.CHINESE ? "小于某值" : "Less than";
+            case NOT_IN_RANGE -> lang == Language.CHINESE ? "不含某个范围内的值" : "Not in range";
+            case ABS_IN_RANGE -> lang == Language.CHINESE ? "绝对值在某个范围" : "Absolute value in range";
+            case ABS_NOT_IN_RANGE -> lang == Language.CHINESE ? "绝对值不在某个范围" : "Absolute value not in range";
+        };
+    }
+}
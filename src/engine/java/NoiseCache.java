@@ -0,0 +1,193 @@
+import nl.kallestruik.noisesampler.minecraft.NoiseColumnSampler;
+import nl.kallestruik.noisesampler.minecraft.NoiseParameterKey;
+import nl.kallestruik.noisesampler.minecraft.Xoroshiro128PlusPlusRandom;
+import nl.kallestruik.noisesampler.minecraft.noise.LazyDoublePerlinNoiseSampler;
+
+import java.util.function.Function;
+
+// Per-seed noise context: every sampler is derived at most once per seed, and only when a filter stage asks for it.
+// The same context is shared by all y-levels and all predicates evaluated for that seed.
+final class NoiseCache {
+    // Every sampler of the cache. Filter stages declare the ones they sample, so that the cost of deriving a sampler
+    // shared by several stages is only counted for the first of them (see AdaptiveStageOrder)
+    enum Sampler {
+        CAVE_ENTRANCE(NoiseCache::caveEntrance, NoiseParameterKey.CAVE_ENTRANCE, "minecraft:cave_entrance", -7, 0.4, 0.5, 1.0),
+        SPAGHETTI_RARITY(NoiseCache::spaghettiRarity, NoiseParameterKey.SPAGHETTI_3D_RARITY, "minecraft:spaghetti_3d_rarity", -11, 1.0),
+        SPAGHETTI_THICKNESS(NoiseCache::spaghettiThickness, NoiseParameterKey.SPAGHETTI_3D_THICKNESS, "minecraft:spaghetti_3d_thickness", -8, 1.0),
+        SPAGHETTI_3D_1(NoiseCache::spaghetti3D1, NoiseParameterKey.SPAGHETTI_3D_1, "minecraft:spaghetti_3d_1", -7, 1.0),
+        SPAGHETTI_3D_2(NoiseCache::spaghetti3D2, NoiseParameterKey.SPAGHETTI_3D_2, "minecraft:spaghetti_3d_2", -7, 1.0),
+        SPAGHETTI_ROUGHNESS_MODULATOR(NoiseCache::spaghettiRoughnessModulator, NoiseParameterKey.SPAGHETTI_ROUGHNESS_MODULATOR, "minecraft:spaghetti_roughness_modulator", -8, 1.0),
+        SPAGHETTI_ROUGHNESS(NoiseCache::spaghettiRoughness, NoiseParameterKey.SPAGHETTI_ROUGHNESS, "minecraft:spaghetti_roughness", -5, 1.0),
+        TEMPERATURE(NoiseCache::temperature, NoiseParameterKey.TEMPERATURE, "minecraft:temperature", -10, 1.5, 0.0, 1.0, 0.0, 0.0, 0.0),
+        HUMIDITY(NoiseCache::humidity, NoiseParameterKey.VEGETATION, "minecraft:vegetation", -8, 1.0, 1.0, 0.0, 0.0, 0.0, 0.0),
+        CONTINENTALNESS(NoiseCache::contientalness, NoiseParameterKey.CONTINENTALNESS, "minecraft:continentalness", -9, 1.0, 1.0, 2.0, 2.0, 2.0, 1.0, 1.0, 1.0, 1.0),
+        EROSION(NoiseCache::erosion, NoiseParameterKey.EROSION, "minecraft:erosion", -9, 1.0, 1.0, 0.0, 1.0, 1.0),
+        RIDGE(NoiseCache::ridge, NoiseParameterKey.RIDGE, "minecraft:ridge", -7, 1.0, 2.0, 1.0, 0.0, 0.0, 0.0),
+        CAVE_LAYER(NoiseCache::caveLayer, NoiseParameterKey.CAVE_LAYER, "minecraft:cave_layer", -8, 1.0),
+        CAVE_CHEESE(NoiseCache::caveCheese, NoiseParameterKey.CAVE_CHEESE, "minecraft:cave_cheese", -8, 0.5, 1.0, 2.0, 1.0, 2.0, 1.0, 0.0, 2.0, 0.0),
+        AQUIFER(NoiseCache::aquifer, NoiseParameterKey.AQUIFER_FLUID_LEVEL_FLOODEDNESS, "minecraft:aquifer_fluid_level_floodedness", -7, 1.0);
+        // Entrance2 samples all of these
+        static final int SPAGHETTI = mask(SPAGHETTI_RARITY, SPAGHETTI_THICKNESS, SPAGHETTI_3D_1, SPAGHETTI_3D_2,
+                SPAGHETTI_ROUGHNESS_MODULATOR, SPAGHETTI_ROUGHNESS);
+        final Function<NoiseCache, DoublePerlinNoise> accessor;
+        final NoiseParameterKey libraryKey; // The same noise in the noise-sampler library, see verifyAgainstLibrary
+        final DoublePerlinNoise.Parameters parameters; // Vanilla 1.18 noise parameters
+        Sampler(Function<NoiseCache, DoublePerlinNoise> accessor, NoiseParameterKey libraryKey, String id,
+                int firstOctave, double... amplitudes) {
+            this.accessor = accessor;
+            this.libraryKey = libraryKey;
+            this.parameters = new DoublePerlinNoise.Parameters(id, firstOctave, amplitudes);
+        }
+        int bit() {
+            return 1 << ordinal();
+        }
+        static int mask(Sampler... samplers) {
+            int mask = 0;
+            for (Sampler sampler : samplers) {
+                mask |= sampler.bit();
+            }
+            return mask;
+        }
+    }
+    // The thread's cache of SeedFilter; reused for every seed the thread checks, see forThread
+    private static final ThreadLocal<NoiseCache> THREAD_CACHE = ThreadLocal.withInitial(() -> new NoiseCache(0));
+    // One cache per seed of a batch checked stage by stage, see batchForThread
+    private static final ThreadLocal<NoiseCache[]> THREAD_BATCH =
+            ThreadLocal.withInitial(() -> new NoiseCache[SeedFilter.BATCH_SIZE]);
+    private final XoroshiroRandom random = new XoroshiroRandom(0L, 0L);
+    private long forkLo, forkHi; // Positional fork of the world seed random, every noise is derived from it
+    private final DoublePerlinNoise[] noises = new DoublePerlinNoise[Sampler.values().length]; // By Sampler.ordinal()
+    private int derived; // Sampler bits of the noises already derived for the current seed
+    NoiseCache(long worldseed) {
+        reset(worldseed);
+    }
+    // The calling thread's cache, reset to worldseed. Its noises, octaves and permutation tables are reseeded in place
+    // instead of allocated again, so checking a seed allocates nothing once the thread has seen every noise. Valid
+    // until the thread's next forThread call
+    static NoiseCache forThread(long worldseed) {
+        NoiseCache cache = THREAD_CACHE.get();
+        cache.reset(worldseed);
+        return cache;
+    }
+    // The calling thread's caches for the seeds of a batch, index i reset to seeds[i] for every bit i of mask (the other
+    // entries may be null). Each seed keeps its own cache while the batch moves from stage to stage, so its samplers are
+    // still derived only once. Valid until the thread's next batchForThread call
+    static NoiseCache[] batchForThread(long[] seeds, long mask) {
+        NoiseCache[] caches = THREAD_BATCH.get();
+        for (long rest = mask; rest != 0; rest &= rest - 1) {
+            int i = Long.numberOfTrailingZeros(rest);
+            if (caches[i] == null) {
+                caches[i] = new NoiseCache(seeds[i]);
+            } else {
+                caches[i].reset(seeds[i]);
+            }
+        }
+        return caches;
+    }
+    void reset(long worldseed) {
+        // Samplers derived from the same fork do not depend on each other, so the creation order does not matter
+        random.setSeed(worldseed);
+        forkLo = random.nextLong();
+        forkHi = random.nextLong();
+        derived = 0;
+    }
+    private DoublePerlinNoise noise(Sampler sampler) {
+        DoublePerlinNoise noise = noises[sampler.ordinal()];
+        if ((derived & sampler.bit()) == 0) {
+            if (noise == null) {
+                noise = new DoublePerlinNoise(sampler.parameters);
+                noises[sampler.ordinal()] = noise;
+            }
+            noise.reseed(forkLo, forkHi);
+            derived |= sampler.bit();
+        }
+        return noise;
+    }
+    DoublePerlinNoise caveEntrance() {
+        return noise(Sampler.CAVE_ENTRANCE);
+    }
+    DoublePerlinNoise spaghettiRarity() {
+        return noise(Sampler.SPAGHETTI_RARITY);
+    }
+    DoublePerlinNoise spaghettiThickness() {
+        return noise(Sampler.SPAGHETTI_THICKNESS);
+    }
+    DoublePerlinNoise spaghetti3D1() {
+        return noise(Sampler.SPAGHETTI_3D_1);
+    }
+    DoublePerlinNoise spaghetti3D2() {
+        return noise(Sampler.SPAGHETTI_3D_2);
+    }
+    DoublePerlinNoise spaghettiRoughnessModulator() {
+        return noise(Sampler.SPAGHETTI_ROUGHNESS_MODULATOR);
+    }
+    DoublePerlinNoise spaghettiRoughness() {
+        return noise(Sampler.SPAGHETTI_ROUGHNESS);
+    }
+    DoublePerlinNoise temperature() {
+        return noise(Sampler.TEMPERATURE);
+    }
+    DoublePerlinNoise humidity() {
+        return noise(Sampler.HUMIDITY);
+    }
+    DoublePerlinNoise contientalness() {
+        return noise(Sampler.CONTINENTALNESS);
+    }
+    DoublePerlinNoise erosion() {
+        return noise(Sampler.EROSION);
+    }
+    DoublePerlinNoise ridge() {
+        return noise(Sampler.RIDGE);
+    }
+    DoublePerlinNoise caveLayer() {
+        return noise(Sampler.CAVE_LAYER);
+    }
+    DoublePerlinNoise caveCheese() {
+        return noise(Sampler.CAVE_CHEESE);
+    }
+    DoublePerlinNoise aquifer() {
+        return noise(Sampler.AQUIFER);
+    }
+    // Compares the port with the library for a few seeds, every noise and points around (x, z); returns a description
+    // of the first difference, or null when every sample is bit-identical. Run once before a search, so a library
+    // update that changes the noise cannot silently change results. Also checks the tunnel scales the plan covers.
+    static String verifyAgainstLibrary(int x, int z) {
+        long[] seeds = {0L, 1L, -1L, 123456789L, Long.MIN_VALUE, 0x5DEECE66DL};
+        double[][] points = {{x, 0, z}, {x / 4.0, 0, z / 4.0}, {x * 0.75, -25, z * 0.75}, {x * 2, 40, z * 2},
+                {x, -50 * 8, z}, {x + 0.5, 60 * 0.67, z - 0.5}};
+        for (long seed : seeds) {
+            NoiseCache cache = new NoiseCache(seed);
+            Xoroshiro128PlusPlusRandom.RandomDeriver deriver = new Xoroshiro128PlusPlusRandom(seed).createRandomDeriver();
+            for (Sampler sampler : Sampler.values()) {
+                DoublePerlinNoise port = sampler.accessor.apply(cache);
+                LazyDoublePerlinNoiseSampler library = LazyDoublePerlinNoiseSampler.createNoiseSampler(deriver, sampler.libraryKey);
+                for (double[] point : points) {
+                    double expected = library.sample(point[0], point[1], point[2]);
+                    double actual = port.sample(point[0], point[1], point[2]);
+                    if (Double.doubleToLongBits(expected) != Double.doubleToLongBits(actual)) {
+                        return sampler + " seed " + seed + " at " + point[0] + "," + point[1] + "," + point[2] + ": "
+                                + actual + " != " + expected;
+                    }
+                }
+            }
+        }
+        // The planned spaghetti coordinates only cover the tunnel scales in CoordinatePlan.TUNNEL_SCALES; any other
+        // one sends Entrance2 back to scaling every sample. The rarity noise stays well inside [-2, 2]
+        boolean[] returned = new boolean[CoordinatePlan.TUNNEL_SCALES.length];
+        for (int i = -512; i <= 512; i++) {
+            double rarity = i / 256.0;
+            double scale = NoiseColumnSampler.CaveScaler.scaleTunnels(rarity);
+            int index = CoordinatePlan.Level.tunnelScaleIndex(scale);
+            if (index < 0) {
+                return "scaleTunnels(" + rarity + ") = " + scale + " is not one of the planned tunnel scales";
+            }
+            returned[index] = true;
+        }
+        for (int i = 0; i < returned.length; i++) {
+            if (!returned[i]) {
+                return "scaleTunnels never returns the planned tunnel scale " + CoordinatePlan.TUNNEL_SCALES[i];
+            }
+        }
+        return null;
+    }
+}
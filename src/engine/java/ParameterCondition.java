@@ -0,0 +1,74 @@
+// Immutable snapshot of one parameter condition, with the thresholds already ordered
+public final class ParameterCondition {
+    final ConditionType condition;
+    final double value1;
+    final double min;
+    final double max;
+    public ParameterCondition(ConditionType condition, double value1, double value2) {
+        this.condition = condition;
+        this.value1 = value1;
+        this.min = Math.min(value1, value2);
+        this.max = Math.max(value1, value2);
+    }
+    public String describe() {
+        return condition + ":" + value1 + ":" + min + ":" + max;
+    }
+    // Whether every value in [lo, hi] passes, respectively fails. Lets a check be decided from bounds of the value
+    // (a noise sample with some octaves still missing, or a minimum of which only one operand is known)
+    boolean passesAll(double lo, double hi) {
+        if (!(lo <= hi)) {
+            return false; // NaN bounds decide nothing
+        }
+        return switch (condition) {
+            case BETWEEN -> lo >= min && hi <= max;
+            case GREATER_THAN -> lo > value1;
+            case LESS_THAN -> hi < value1;
+            case NOT_IN_RANGE -> hi < min || lo > max;
+            case ABS_IN_RANGE -> absLo(lo, hi) >= min && absHi(lo, hi) <= max;
+            case ABS_NOT_IN_RANGE -> absHi(lo, hi) < min || absLo(lo, hi) > max;
+        };
+    }
+    boolean failsAll(double lo, double hi) {
+        if (!(lo <= hi)) {
+            return false; // NaN bounds decide nothing
+        }
+        return switch (condition) {
+            case BETWEEN -> hi < min || lo > max;
+            case GREATER_THAN -> hi <= value1;
+            case LESS_THAN -> lo >= value1;
+            case NOT_IN_RANGE -> lo >= min && hi <= max;
+            case ABS_IN_RANGE -> absHi(lo, hi) < min || absLo(lo, hi) > max;
+            case ABS_NOT_IN_RANGE -> absLo(lo, hi) >= min && absHi(lo, hi) <= max;
+        };
+    }
+    // Math.min(a, b) is at most a, so these decide a test of the minimum from a alone
+    boolean passesAllUpTo(double upper) {
+        return passesAll(Double.NEGATIVE_INFINITY, upper);
+    }
+    boolean failsAllUpTo(double upper) {
+        return failsAll(Double.NEGATIVE_INFINITY, upper);
+    }
+    // Range of |value| over [lo, hi]
+    private static double absLo(double lo, double hi) {
+        return lo > 0 ? lo : (hi < 0 ? -hi : 0);
+    }
+    private static double absHi(double lo, double hi) {
+        return Math.max(Math.abs(lo), Math.abs(hi));
+    }
+    public boolean test(double value) {
+        return switch (condition) {
+            case BETWEEN -> value >= min && value <= max;
+            case GREATER_THAN -> value > value1;
+            case LESS_THAN -> value < value1;
+            case NOT_IN_RANGE -> value < min || value > max;
+            case ABS_IN_RANGE -> {
+                double absValue = Math.abs(value);
+                yield absValue >= min && absValue <= max;
+            }
+            case ABS_NOT_IN_RANGE -> {
+                double absValue = Math.abs(value);
+                yield absValue < min || absValue > max;
+            }
+        };
+    }
+}
@@ -0,0 +1,3 @@
+public enum ParameterType {
+    TEMPERATURE, HUMIDITY, EROSION, RIDGE, ENTRANCE, CHEESE, CONTINENTALNESS, AQUIFER
+}
@@ -0,0 +1,177 @@
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+// Result file writer shared by all workers. Workers only enqueue hits on a lock-free queue; one writer thread
+// appends them and commits (flushes) in groups, either every COMMIT_BATCH_SIZE lines or every COMMIT_INTERVAL_MS,
+// and logs one summary line per interval instead of one GUI event per seed. close() drains the queue and forces
+// the file to disk, so everything found before Stop is kept.
+final class ResultWriter implements AutoCloseable {
+    private static final int COMMIT_BATCH_SIZE = 4096;
+    private static final long COMMIT_INTERVAL_MS = 1000;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+    private final ConcurrentLinkedQueue<Long> queue = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<CompletableFuture<Void>> syncRequests = new ConcurrentLinkedQueue<>();
+    private final FileOutputStream stream;
+    private final BufferedWriter writer;
+    private final Consumer<String> log;
+    private final Language language;
+    private final Thread thread;
+    private volatile boolean closed = false;
+    private volatile IOException failure;
+    private long totalHits = 0; // Only touched by the writer thread until it has been joined
+    // append keeps the hits of an earlier run (resume); otherwise the file is truncated
+    ResultWriter(Path path, boolean append, Consumer<String> log, Language language) throws IOException {
+        this.stream = new FileOutputStream(path.toFile(), append);
+        this.writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+        this.log = log;
+        this.language = language;
+        this.thread = new Thread(this::runWriter, "result-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    // Called by the workers; never blocks on I/O
+    void add(long seed) {
+        IOException e = failure;
+        if (e != null) {
+            throw new UncheckedIOException(e);
+        }
+        queue.offer(seed);
+    }
+    // Blocks until every hit queued before this call is written and forced to disk
+    void sync() throws IOException {
+        CompletableFuture<Void> request = new CompletableFuture<>();
+        syncRequests.offer(request);
+        LockSupport.unpark(thread);
+        while (true) {
+            try {
+                request.get(100, TimeUnit.MILLISECONDS);
+                return;
+            } catch (TimeoutException e) {
+                if (!thread.isAlive()) {
+                    break; // Closed meanwhile; close() already forced everything to disk
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            } catch (ExecutionException e) {
+                break;
+            }
+        }
+        IOException e = failure;
+        if (e != null) {
+            throw e;
+        }
+    }
+    long getTotalHits() {
+        return totalHits;
+    }
+    private void runWriter() {
+        int uncommitted = 0;
+        int intervalHits = 0;
+        long lastSeed = 0;
+        long lastCommit = System.currentTimeMillis();
+        try {
+            while (true) {
+                // Read the flag before draining: everything offered before close() is then written in this pass
+                boolean finished = closed;
+                List<CompletableFuture<Void>> syncs = null;
+                CompletableFuture<Void> sync;
+                while ((sync = syncRequests.poll()) != null) {
+                    if (syncs == null) {
+                        syncs = new ArrayList<>();
+                    }
+                    syncs.add(sync); // Taken before draining, so the drain below covers their hits
+                }
+                Long seed;
+                while ((seed = queue.poll()) != null) {
+                    writer.write(Long.toString(seed));
+                    writer.newLine();
+                    lastSeed = seed;
+                    intervalHits++;
+                    if (++uncommitted >= COMMIT_BATCH_SIZE) {
+                        writer.flush();
+                        uncommitted = 0;
+                    }
+                }
+                long now = System.currentTimeMillis();
+                if (finished || now - lastCommit >= COMMIT_INTERVAL_MS) {
+                    if (uncommitted > 0) {
+                        writer.flush();
+                        uncommitted = 0;
+                    }
+                    if (intervalHits > 0) {
+                        reportHits(intervalHits, lastSeed, now - lastCommit);
+                        totalHits += intervalHits;
+                        intervalHits = 0;
+                    }
+                    lastCommit = now;
+                }
+                if (syncs != null) {
+                    writer.flush();
+                    uncommitted = 0;
+                    stream.getChannel().force(true);
+                    syncs.forEach(request -> request.complete(null));
+                }
+                if (finished) {
+                    break;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+            writer.flush();
+            stream.getChannel().force(true);
+        } catch (IOException e) {
+            failure = e;
+        }
+        // Requests that are still waiting are answered by sync() itself once this thread has ended
+    }
+    private void reportHits(int hits, long lastSeed, long intervalMs) {
+        if (hits == 1) {
+            log.accept(LanguageResources.get("found_seed", language) + lastSeed);
+        } else {
+            log.accept(String.format(LanguageResources.get("found_seeds_in_interval", language), hits,
+                    intervalMs / 1000.0, lastSeed));
+        }
+    }
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        LockSupport.unpark(thread);
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                // Keep waiting: the final flush must not be skipped
+                interrupted = true;
+            }
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
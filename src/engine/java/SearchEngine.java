@@ -0,0 +1,619 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongUnaryOperator;
+
+// GUI-free search engine: runs one SearchJob against a FilterPlan and reports through a Listener.
+// Used by the Swing GUI and by the headless command-line runner.
+public class SearchEngine {
+    public interface Listener {
+        void log(String message);
+    }
+    private static final long WORLD_SEED_LEAF_SIZE = 1000; // WorldSeeds per leaf task
+    private static final long MASK_48 = (1L << 48) - 1;
+    private static final long LIST_CHUNK_BYTES = 1 << 20; // Seed list bytes parsed per leaf task
+    private static final long MAX_LOGGED_INVALID_SEEDS = 100;
+    // Minimum checkpoint slice in seed or sister-seed indices. A slice that was not finished is searched again on resume,
+    // so this bounds the repeated work: a few seconds for a pool of workers sharing the slice
+    private static final long SEED_SLICE_SIZE = 1 << 20;
+    private static final long MAX_SLICES = 1 << 20; // Bounds the size of the checkpoint bitmap
+    private static final long CHECKPOINT_INTERVAL_MS = 60_000;
+    private static final int HEIGHT_QUEUE_PER_THREAD = 64; // Candidates waiting per height check thread at most
+    private final FilterPlan plan;
+    private final SearchJob job;
+    private final Language language;
+    private final Listener listener;
+    private volatile ExecutorService executor;
+    private volatile boolean running = false;
+    // WorldSeeds checked so far. Striped, so workers add to it without contending; only the progress sampler sums it
+    private final LongAdder completedSeeds = new LongAdder();
+    private volatile long resumedSeeds = 0; // Part of completedSeeds covered by the checkpoint of a resumed run
+    private volatile long totalTasks = 0;
+    private final AtomicLong invalidSeeds = new AtomicLong(0);
+    private volatile long[] previousResults; // Sorted hits of the run being resumed, null when not resuming
+    private volatile AdaptiveStageOrder stageOrder;
+    private volatile HeightCheckStage heightStage; // Null without the height check
+    private volatile long filteringStartTime = 0;
+    public SearchEngine(FilterPlan plan, SearchJob job, Language language, Listener listener) {
+        this.plan = plan;
+        this.job = job;
+        this.language = language;
+        this.listener = listener;
+    }
+    public boolean isRunning() {
+        return running;
+    }
+    public void stop() {
+        running = false;
+        ExecutorService current = executor;
+        if (current != null) {
+            current.shutdownNow();
+            executor = null; // Release reference to help GC
+        }
+    }
+    // Progress for the sampler of the GUI or CLI, in tasks (structureSeeds in structureSeed mode), counting only
+    // fully covered ones. Reading it is the only place the striped counter is summed
+    public long getCompletedTasks() {
+        return completedSeeds.sum() / getSeedsPerTask();
+    }
+    // Part of getCompletedTasks() a resumed run took over from its checkpoint instead of checking in this session;
+    // speeds are computed without it
+    public long getResumedTasks() {
+        return resumedSeeds / getSeedsPerTask();
+    }
+    // -1 when unknown (list not counted yet, or a range too large for a long)
+    public long getTotalTasks() {
+        return totalTasks;
+    }
+    public long getElapsedMs() {
+        long start = filteringStartTime;
+        return start == 0 ? 0 : System.currentTimeMillis() - start;
+    }
+    // Throughput and queue of the height check stage for the progress display, null when the run has none. The noise
+    // stage is the task progress itself; the two together show which side to give more threads
+    public String describeHeightStage(Language language) {
+        HeightCheckStage stage = heightStage;
+        if (stage == null) {
+            return null;
+        }
+        long elapsedMs = getElapsedMs();
+        long decided = stage.decidedCount();
+        String speed = formatSpeed(elapsedMs > 0 ? decided * 1000.0 / elapsedMs : 0);
+        return String.format(LanguageResources.get("height_stage_progress", language), decided, stage.queuedCount(),
+                speed, stage.queueDepth(), stage.queueCapacity(), formatElapsedTime(stage.stalledMs(), language));
+    }
+    // World seeds covered by one completed task (65536 in structureSeed mode)
+    public long getSeedsPerTask() {
+        return job.structureSeeds ? 65536 : 1;
+    }
+    // Runs the whole job on the calling thread; returns false if it was stopped before completion
+    public boolean run() throws Exception {
+        running = true;
+        filteringStartTime = System.currentTimeMillis();
+        String exportPath = job.exportPath;
+        Path resultPath = Paths.get(exportPath);
+        try {
+            // Ensure directory exists
+            if (resultPath.getParent() != null) {
+                Files.createDirectories(resultPath.getParent());
+            }
+            if (job.resume) {
+                // Hits of the earlier run stay in the file; they are skipped when found again
+                previousResults = Files.exists(resultPath) ? loadPreviousResults(resultPath) : null;
+            } else {
+                Files.deleteIfExists(resultPath);
+                Files.deleteIfExists(Checkpoint.pathFor(resultPath));
+                previousResults = null;
+            }
+            // Calculate total task count (for progress display)
+            long totalTaskCount = 0;
+            if (job.incremental) {
+                long start = job.start;
+                long end = job.end;
+                // Calculate range, handle possible overflow
+                if (end >= start) {
+                    totalTaskCount = end - start + 1;
+                    // If range is too large causing overflow, set to -1 for unknown total
+                    if (totalTaskCount < 0) {
+                        totalTaskCount = -1;
+                    }
+                }
+            } else {
+                totalTaskCount = -1; // Known once the list has been counted
+            }
+            totalTasks = totalTaskCount;
+            completedSeeds.reset();
+            resumedSeeds = 0;
+            stageOrder = new AdaptiveStageOrder(plan, this::log, language);
+            // The filters sample the in-repo noise port (DoublePerlinNoise); refuse to run if it ever drifts from the library
+            String noiseMismatch = NoiseCache.verifyAgainstLibrary(plan.x, plan.z);
+            if (noiseMismatch != null) {
+                throw new IllegalStateException(LanguageResources.get("noise_port_mismatch", language) + noiseMismatch);
+            }
+            // If height check is enabled, pre-initialize SeedCheckerSettings in main thread
+            // This avoids ExceptionInInitializerError caused by concurrent initialization in multi-threading
+            if (plan.checkHeight) {
+                try {
+                    log(LanguageResources.get("checking_seedchecker", language));
+                    // If not initialized yet, try to initialize
+                    if (!SeedCheckerInitializer.isInitialized()) {
+                        log(LanguageResources.get("attempting_init_seedchecker", language));
+                        SeedCheckerInitializer.initialize();
+                    }
+                    if (SeedCheckerInitializer.isInitialized()) {
+                        log(LanguageResources.get("seedchecker_ready", language));
+                    } else {
+                        log(LanguageResources.get("seedchecker_init_failed", language));
+                    }
+                } catch (Exception e) {
+                    log(LanguageResources.get("seedchecker_check_exception", language) + e.getMessage());
+                }
+            }
+            HeightChecker heightChecker = plan.checkHeight ? new HeightChecker(plan, this::log, language) : null;
+            ForkJoinPool pool = new ForkJoinPool(job.threadCount);
+            executor = pool;
+            SeedListSource listSource = job.incremental ? null : openSeedList();
+            Checkpoint checkpoint;
+            ResultWriter writer;
+            try (listSource) {
+                // The work space of the run: seeds (worldSeed range), sister-seed indices (structureSeed range,
+                // index = offset << 16 | upper 16 bits) or byte offsets into the seed list. It is cut into slices,
+                // the unit of checkpointing
+                long first = 0;
+                long last;
+                long minSliceSize;
+                if (job.incremental) {
+                    long start = job.start;
+                    long end = job.end;
+                    log(String.format(LanguageResources.get("starting_filtering", language), start, end, end - start + 1));
+                    if (job.structureSeeds) {
+                        if (Long.compareUnsigned(end - start, MASK_48) > 0) {
+                            throw new IllegalArgumentException(LanguageResources.get("structure_range_too_large", language));
+                        }
+                        last = end >= start ? ((end - start + 1) << 16) - 1 : -1;
+                    } else {
+                        first = start;
+                        last = end;
+                    }
+                    minSliceSize = SEED_SLICE_SIZE;
+                } else {
+                    last = listSource.size() - 1;
+                    minSliceSize = LIST_CHUNK_BYTES;
+                }
+                boolean empty = job.incremental ? job.end < job.start : listSource.size() == 0;
+                // Slices are at least minSliceSize long, and there are never more than MAX_SLICES of them
+                long span = last - first; // Unsigned size minus one
+                long sliceSize = Math.max(minSliceSize, Long.divideUnsigned(span, MAX_SLICES) + 1);
+                int sliceCount = empty ? 0 : (int) (Long.divideUnsigned(span, sliceSize) + 1);
+                String fingerprint = Checkpoint.fingerprint(describeRun(sliceSize));
+                checkpoint = job.resume ? Checkpoint.load(resultPath, fingerprint, sliceSize, sliceCount, language) : null;
+                if (checkpoint != null) {
+                    resumedSeeds = checkpoint.getDoneSeeds();
+                    completedSeeds.add(resumedSeeds);
+                    log(String.format(LanguageResources.get("checkpoint_resumed", language), checkpoint.getDoneSlices(),
+                            sliceCount));
+                } else {
+                    if (job.resume) {
+                        log(LanguageResources.get("checkpoint_not_found", language));
+                    }
+                    checkpoint = Checkpoint.create(resultPath, fingerprint, sliceSize, sliceCount);
+                }
+                final long firstIndex = first;
+                final long lastIndex = last;
+                final Checkpoint sliceCheckpoint = checkpoint;
+                // Closing the writer commits and syncs whatever is still queued, also after Stop
+                writer = new ResultWriter(resultPath, job.resume, this::log, language);
+                try (writer) {
+                    // Processes slice [from, to] of the work space and returns the number of worldSeeds it covered
+                    SliceAction sliceAction;
+                    if (!job.incremental) {
+                        // List mode: the list is parsed straight from the file (or the list box text) in byte chunks.
+                        // A first pass only counts the seeds for the progress display; the second one parses each
+                        // chunk again into a primitive batch and checks it, so the whole list is never in memory
+                        sliceAction = (from, to, candidates) -> processListChunk(listSource, from, to + 1, plan,
+                                candidates);
+                    } else if (job.structureSeeds) {
+                        // StructureSeed mode: the 65536 sister seeds of each structureSeed are split as well, so that
+                        // idle workers can steal from a structureSeed another worker is still on
+                        long start = job.start;
+                        sliceAction = (from, to, candidates) -> {
+                            new RangeTask(from, to, WORLD_SEED_LEAF_SIZE,
+                                    (a, b) -> processSisterSeeds(slot -> start + slot, a, b, plan, candidates)).invoke();
+                            return to - from + 1;
+                        };
+                    } else {
+                        // WorldSeed mode: leaves of 1000 worldSeeds to keep scheduling overhead low
+                        sliceAction = (from, to, candidates) -> {
+                            new RangeTask(from, to, WORLD_SEED_LEAF_SIZE,
+                                    (a, b) -> processWorldSeedsBatch(a, b, plan, candidates)).invoke();
+                            return to - from + 1;
+                        };
+                    }
+                    // With the height check, the noise workers hand their candidates to a stage of its own
+                    HeightCheckStage stage = heightChecker == null ? null : new HeightCheckStage(heightChecker,
+                            job.heightThreadCount, job.heightThreadCount * HEIGHT_QUEUE_PER_THREAD,
+                            seed -> writeResult(seed, writer), () -> running, this::stop);
+                    heightStage = stage;
+                    if (stage != null) {
+                        log(String.format(LanguageResources.get("height_stage_started", language), job.threadCount,
+                                stage.threadCount(), stage.queueCapacity()));
+                    }
+                    RangeTask root = new RangeTask(0, sliceCount - 1, 1, (fromSlice, toSlice) -> {
+                        for (long slice = fromSlice; slice <= toSlice && running; slice++) {
+                            if (sliceCheckpoint.isDone((int) slice)) {
+                                continue;
+                            }
+                            long from = firstIndex + slice * sliceSize;
+                            long to = slice == sliceCount - 1 ? lastIndex : from + sliceSize - 1;
+                            int done = (int) slice;
+                            // Only a slice that ran to the end counts; a stopped one is redone on resume
+                            if (stage == null) {
+                                long seeds = sliceAction.process(from, to, hit -> writeResult(hit, writer));
+                                if (running) {
+                                    sliceCheckpoint.markDone(done, seeds);
+                                }
+                            } else {
+                                // The slice ends with the height check of its last candidate
+                                HeightCheckStage.Slice candidates = stage.openSlice();
+                                long seeds = sliceAction.process(from, to, candidates::submit);
+                                candidates.finish(() -> {
+                                    if (running) {
+                                        sliceCheckpoint.markDone(done, seeds);
+                                    }
+                                });
+                            }
+                        }
+                    });
+                    ScheduledExecutorService saver = Executors.newSingleThreadScheduledExecutor(r -> {
+                        Thread thread = new Thread(r, "checkpoint-saver");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    saver.scheduleWithFixedDelay(() -> saveCheckpoint(sliceCheckpoint, writer),
+                            CHECKPOINT_INTERVAL_MS, CHECKPOINT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                    try {
+                        if (listSource != null) {
+                            long seedCount = countListSeeds(pool, listSource);
+                            totalTasks = seedCount;
+                            log(String.format(LanguageResources.get("starting_list_filtering", language), seedCount));
+                        }
+                        pool.invoke(root);
+                        if (stage != null) {
+                            stage.finish();
+                        }
+                    } catch (CancellationException e) {
+                        // Pool was shut down by stop(), pending subranges are simply dropped
+                    } finally {
+                        if (stage != null) {
+                            stage.shutdownNow();
+                        }
+                        saver.shutdownNow();
+                        pool.shutdownNow();
+                        executor = null;
+                    }
+                }
+            }
+            // The writer is closed here, so every hit of a finished slice is on disk before the checkpoint says so.
+            // The checkpoint is only deleted when every slice was marked done; anything else can be resumed
+            HeightCheckStage stage = heightStage;
+            Throwable heightFailure = stage == null ? null : stage.failure();
+            if (!running || heightFailure != null || !checkpoint.isComplete()) {
+                boolean stopped = !running;
+                running = false;
+                checkpoint.save(checkpoint.snapshot());
+                log(String.format(LanguageResources.get("checkpoint_saved", language), checkpoint.getDoneSlices(),
+                        Checkpoint.pathFor(resultPath)));
+                if (heightFailure != null) {
+                    throw new IllegalStateException(LanguageResources.get("height_stage_failed", language)
+                            + heightFailure, heightFailure);
+                }
+                if (!stopped) {
+                    throw new IllegalStateException(LanguageResources.get("run_incomplete", language));
+                }
+                return false;
+            }
+            checkpoint.delete();
+            long totalElapsedMs = System.currentTimeMillis() - filteringStartTime;
+            String totalTimeStr = formatElapsedTime(totalElapsedMs, language);
+            double totalElapsedSec = totalElapsedMs / 1000.0;
+            // Only the seeds of this session, not the ones a resumed checkpoint already covered
+            double totalSeedsProcessed = completedSeeds.sum() - resumedSeeds;
+            double avgSpeed = totalElapsedSec > 0 ? totalSeedsProcessed / totalElapsedSec : 0;
+            String avgSpeedStr = formatSpeed(avgSpeed);
+
+            log(LanguageResources.get("filtering_completed", language) + exportPath);
+            log(String.format(LanguageResources.get("total_hits", language), writer.getTotalHits()));
+            if (heightChecker != null) {
+                log(describeHeightStage(language));
+            }
+            log(String.format(LanguageResources.get("total_time", language), totalTimeStr, avgSpeedStr));
+            running = false;
+            return true;
+        } finally {
+            // Ensure executor is released even on exception
+            ExecutorService current = executor;
+            if (current != null) {
+                current.shutdownNow();
+                executor = null;
+            }
+        }
+    }
+    // Everything that decides which seeds are checked and which of them are written; a checkpoint only applies to a
+    // run with the same description
+    private String describeRun(long sliceSize) throws IOException {
+        StringBuilder description = new StringBuilder(plan.describe());
+        description.append("|structure=").append(job.structureSeeds).append("|slice=").append(sliceSize);
+        if (job.incremental) {
+            description.append("|range=").append(job.start).append(':').append(job.end);
+        } else if (job.seedListFile != null) {
+            Path listPath = Paths.get(job.seedListFile).toAbsolutePath();
+            description.append("|file=").append(listPath).append(':').append(Files.size(listPath)).append(':')
+                    .append(Files.getLastModifiedTime(listPath).toMillis());
+        } else {
+            description.append("|list=").append(job.seedList);
+        }
+        return description.toString();
+    }
+    // Periodic checkpoint: snapshot first, then sync the results, so the file never claims hits that are not on disk
+    private void saveCheckpoint(Checkpoint checkpoint, ResultWriter writer) {
+        try {
+            Properties snapshot = checkpoint.snapshot();
+            writer.sync();
+            checkpoint.save(snapshot);
+        } catch (IOException e) {
+            log(LanguageResources.get("checkpoint_save_failed", language) + e.getMessage());
+        }
+    }
+    // Reads the hits of an earlier run, sorted for lookup. A line torn by a crash is cut off first; the slice it
+    // came from was not checkpointed yet, so the hit is found and written again
+    private long[] loadPreviousResults(Path resultPath) throws IOException {
+        try (FileChannel channel = FileChannel.open(resultPath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            long keep = size;
+            ByteBuffer oneByte = ByteBuffer.allocate(1);
+            while (keep > 0) {
+                oneByte.clear();
+                channel.read(oneByte, keep - 1);
+                if (oneByte.get(0) == '\n') {
+                    break;
+                }
+                keep--;
+            }
+            if (keep < size) {
+                channel.truncate(keep);
+            }
+        }
+        long[] seeds;
+        try (SeedListSource source = SeedListSource.ofFile(resultPath)) {
+            seeds = source.size() == 0 ? new long[0] : source.parse(0, source.size(), line -> {});
+        }
+        Arrays.sort(seeds);
+        return seeds;
+    }
+    private SeedListSource openSeedList() throws IOException {
+        if (job.seedListFile != null) {
+            return SeedListSource.ofFile(Paths.get(job.seedListFile));
+        }
+        return SeedListSource.ofText(job.seedList);
+    }
+    // Counts the valid seeds of the list in parallel; invalid lines are reported (up to a limit) during this pass
+    private long countListSeeds(ForkJoinPool pool, SeedListSource source) {
+        AtomicLong count = new AtomicLong();
+        invalidSeeds.set(0);
+        pool.invoke(new RangeTask(0, source.size() - 1, LIST_CHUNK_BYTES,
+                (from, to) -> count.addAndGet(parseListChunk(source, from, to + 1, this::reportInvalidSeed).length)));
+        long invalid = invalidSeeds.get();
+        if (invalid > MAX_LOGGED_INVALID_SEEDS) {
+            log(String.format(LanguageResources.get("invalid_seeds_skipped", language), invalid));
+        }
+        return count.get();
+    }
+    private void reportInvalidSeed(String line) {
+        if (invalidSeeds.incrementAndGet() <= MAX_LOGGED_INVALID_SEEDS) {
+            log(LanguageResources.get("skipping_invalid_seed", language) + line);
+        }
+    }
+    private static long[] parseListChunk(SeedListSource source, long from, long to, Consumer<String> onInvalid) {
+        try {
+            return source.parse(from, to, onInvalid);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    // Parses one chunk of the list and checks it. The batch is split again, so that a chunk holding only a few
+    // structureSeeds still spreads its sister seeds over all workers
+    private long processListChunk(SeedListSource source, long from, long to, FilterPlan plan,
+                                  LongConsumer candidates) {
+        long[] seeds = parseListChunk(source, from, to, line -> {});
+        if (job.structureSeeds) {
+            new RangeTask(0, ((long) seeds.length << 16) - 1, WORLD_SEED_LEAF_SIZE,
+                    (a, b) -> processSisterSeeds(slot -> seeds[(int) slot], a, b, plan, candidates)).invoke();
+        } else {
+            new RangeTask(0, seeds.length - 1, WORLD_SEED_LEAF_SIZE,
+                    (a, b) -> processWorldSeeds(seeds, (int) a, (int) b, plan, candidates)).invoke();
+        }
+        return job.structureSeeds ? (long) seeds.length << 16 : seeds.length;
+    }
+    private interface SliceAction {
+        long process(long from, long to, LongConsumer candidates);
+    }
+    // Leaf work of a RangeTask: processes the inclusive range [from, to]
+    private interface RangeAction {
+        void process(long from, long to);
+    }
+    // Lazily splits an inclusive range in halves: each worker keeps descending into one half and leaves the other
+    // for idle workers to steal, so only O(threads * log(range)) tasks exist at any time however large the range is.
+    // There is nothing queued to drain on stop: running tasks see the flag and return without splitting further.
+    private final class RangeTask extends RecursiveAction {
+        private final long from;
+        private final long to;
+        private final long leafSize;
+        private final RangeAction action;
+        RangeTask(long from, long to, long leafSize, RangeAction action) {
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+            this.action = action;
+        }
+        @Override
+        protected void compute() {
+            if (!running || to < from) {
+                return;
+            }
+            // to - from is the range size minus one read as unsigned, so this also works for the full long range
+            long span = to - from;
+            if (Long.compareUnsigned(span, leafSize) < 0) {
+                action.process(from, to);
+                return;
+            }
+            long mid = from + (span >>> 1);
+            invokeAll(new RangeTask(from, mid, leafSize, action), new RangeTask(mid + 1, to, leafSize, action));
+        }
+    }
+    // Process part of the structureSeed index space: index = slot << 16 | upper 16 bits, where slot selects the
+    // structureSeed. Sister seeds are built directly instead of going through the boxed StructureSeed.getWorldSeeds
+    private void processSisterSeeds(LongUnaryOperator structureSeedAt, long from, long to, FilterPlan plan,
+                                    LongConsumer candidates) {
+        long processedCount = 0;
+        SeedBatch batch = newBatch(plan, candidates);
+        long slot = from >>> 16;
+        long lowerBits = structureSeedAt.applyAsLong(slot) & MASK_48;
+        for (long i = 0, n = to - from; i <= n && running; i++) {
+            long index = from + i;
+            if (index >>> 16 != slot) {
+                slot = index >>> 16;
+                lowerBits = structureSeedAt.applyAsLong(slot) & MASK_48;
+            }
+            checkWorldSeed(((index & 0xFFFFL) << 48) | lowerBits, plan, candidates, batch);
+            processedCount++;
+        }
+        flush(batch);
+        completedSeeds.add(processedCount);
+    }
+    // Batch process WorldSeed to reduce task count and scheduling overhead
+    private void processWorldSeedsBatch(long startSeed, long endSeed, FilterPlan plan, LongConsumer candidates) {
+        long processedCount = 0;
+        SeedBatch batch = newBatch(plan, candidates);
+        // Count instead of comparing seeds so that endSeed == Long.MAX_VALUE cannot wrap around
+        for (long i = 0, n = endSeed - startSeed; i <= n && running; i++) {
+            checkWorldSeed(startSeed + i, plan, candidates, batch);
+            processedCount++;
+        }
+        flush(batch);
+        // Batch update progress once per batch
+        completedSeeds.add(processedCount);
+    }
+    // Same as processWorldSeedsBatch for a slice [from, to] of the seed list
+    private void processWorldSeeds(long[] seeds, int from, int to, FilterPlan plan, LongConsumer candidates) {
+        long processedCount = 0;
+        SeedBatch batch = newBatch(plan, candidates);
+        for (int i = from; i <= to && running; i++) {
+            checkWorldSeed(seeds[i], plan, candidates, batch);
+            processedCount++;
+        }
+        flush(batch);
+        completedSeeds.add(processedCount);
+    }
+    // Seeds of one leaf task waiting to be checked together, stage by stage (AdaptiveStageOrder.checkBatch). The bits
+    // of a long track which seeds are still in the running
+    private final class SeedBatch {
+        private final long[] seeds = new long[SeedFilter.BATCH_SIZE];
+        private final LongConsumer output; // Receives the seeds that pass
+        private int count;
+        SeedBatch(LongConsumer output) {
+            this.output = output;
+        }
+        void add(long seed) {
+            seeds[count++] = seed;
+            if (count == seeds.length) {
+                flush();
+            }
+        }
+        void flush() {
+            if (count == 0) {
+                return;
+            }
+            long candidates = -1L >>> (Long.SIZE - count);
+            for (long passed = stageOrder.checkBatch(seeds, candidates); passed != 0; passed &= passed - 1) {
+                output.accept(seeds[Long.numberOfTrailingZeros(passed)]);
+            }
+            count = 0;
+        }
+    }
+    // Null for the bedrock impossible filter, which checks its seeds one by one
+    private SeedBatch newBatch(FilterPlan plan, LongConsumer candidates) {
+        return plan.bedrockImpossible ? null : new SeedBatch(candidates);
+    }
+    private static void flush(SeedBatch batch) {
+        if (batch != null) {
+            batch.flush();
+        }
+    }
+    private void checkWorldSeed(long seed, FilterPlan plan, LongConsumer candidates, SeedBatch batch) {
+        if (batch != null) {
+            batch.add(seed);
+        } else {
+            checkWorldSeed(seed, plan, candidates);
+        }
+    }
+    // Seeds that pass the noise filters go to candidates: straight to the result file, or to the height check stage
+    private void checkWorldSeed(long seed, FilterPlan plan, LongConsumer candidates) {
+        if (SeedFilter.checkSeed(seed, plan, stageOrder)) {
+            candidates.accept(seed);
+        }
+    }
+    private void writeResult(long seed, ResultWriter writer) {
+        long[] previous = previousResults;
+        if (previous != null && Arrays.binarySearch(previous, seed) >= 0) {
+            return; // Already written by the run that is being resumed
+        }
+        writer.add(seed);
+    }
+    public static String formatElapsedTime(long millis, Language language) {
+        long seconds = millis / 1000;
+        long minutes = seconds / 60;
+        long hours = minutes / 60;
+        seconds = seconds % 60;
+        minutes = minutes % 60;
+        if (hours > 0) {
+            return String.format(LanguageResources.get("time_hms", language), hours, minutes, seconds);
+        } else if (minutes > 0) {
+            return String.format(LanguageResources.get("time_ms", language), minutes, seconds);
+        } else {
+            return String.format(LanguageResources.get("time_s", language), millis / 1000.0);
+        }
+    }
+    public static String formatSpeed(double speed) {
+        if (speed >= 1_000_000_000) {
+            return String.format("%.2fG", speed / 1_000_000_000);
+        } else if (speed >= 1_000_000) {
+            return String.format("%.2fM", speed / 1_000_000);
+        } else if (speed >= 1_000) {
+            return String.format("%.2fK", speed / 1_000);
+        } else {
+            return String.format("%.1f", speed);
+        }
+    }
+    private void log(String message) {
+        listener.log(message);
+    }
+}
@@ -0,0 +1,27 @@
+// Seed source and output settings of one run, captured together with the FilterPlan
+public final class SearchJob {
+    public final String exportPath;
+    public final boolean incremental;
+    public final boolean structureSeeds;
+    public final long start;
+    public final long end;
+    public final String seedList;
+    public final String seedListFile; // When set, list mode reads this file instead of seedList
+    public final int threadCount; // Noise filter workers
+    public final int heightThreadCount; // Height check threads, only started with "Check Height"
+    public final boolean resume; // Continue from <exportPath>.checkpoint and keep the hits already in exportPath
+    public SearchJob(String exportPath, boolean incremental, boolean structureSeeds, long start, long end,
+                     String seedList, String seedListFile, int threadCount,
+                     int heightThreadCount, boolean resume) {
+        this.exportPath = exportPath;
+        this.incremental = incremental;
+        this.structureSeeds = structureSeeds;
+        this.start = start;
+        this.end = end;
+        this.seedList = seedList;
+        this.seedListFile = seedListFile;
+        this.threadCount = threadCount;
+        this.heightThreadCount = heightThreadCount;
+        this.resume = resume;
+    }
+}
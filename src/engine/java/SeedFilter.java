@@ -0,0 +1,314 @@
+import nl.kallestruik.noisesampler.minecraft.NoiseColumnSampler;
+import nl.kallestruik.noisesampler.minecraft.util.MathHelper;
+
+// Noise-only seed filters, evaluated against a compiled FilterPlan
+public final class SeedFilter {
+    // Seeds per checkNormalBatch call; at most 64, so that the seeds of a batch fit in the bits of a long
+    static final int BATCH_SIZE = 64;
+    private SeedFilter() {
+    }
+    public static boolean checkSeed(long seed, FilterPlan plan) {
+        if (plan.bedrockImpossible) {
+            return checkBedrockImpossible(seed, plan);
+        } else {
+            return checkNormal(seed, plan);
+        }
+    }
+    // Same as checkSeed, with the stages of checkNormal run in the order chosen by stageOrder
+    static boolean checkSeed(long seed, FilterPlan plan, AdaptiveStageOrder stageOrder) {
+        if (plan.bedrockImpossible) {
+            return checkBedrockImpossible(seed, plan);
+        } else {
+            return stageOrder.check(seed);
+        }
+    }
+    // Runs the stages in the default order of the plan
+    static boolean checkNormal(long seed, FilterPlan plan) {
+        NoiseCache cache = NoiseCache.forThread(seed);
+        for (FilterStage stage : plan.stages) {
+            if (!passes(stage, cache, plan)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    // checkNormal for the seeds[i] of every bit i of candidates (at most BATCH_SIZE seeds), with the stages in the given order
+    // and one stage at a time: each stage runs over all remaining seeds before the next one starts, so the loop keeps
+    // executing the same code on the same noise parameters and points. Returns the bits of the seeds that passed
+    static long checkNormalBatch(long[] seeds, long candidates, FilterPlan plan, FilterStage[] order) {
+        NoiseCache[] caches = NoiseCache.batchForThread(seeds, candidates);
+        long survivors = candidates;
+        for (FilterStage stage : order) {
+            for (long rest = survivors; rest != 0; rest &= rest - 1) {
+                int i = Long.numberOfTrailingZeros(rest);
+                if (!passes(stage, caches[i], plan)) {
+                    survivors &= ~(1L << i);
+                }
+            }
+            if (survivors == 0) {
+                break;
+            }
+        }
+        return survivors;
+    }
+    static boolean passes(FilterStage stage, NoiseCache cache, FilterPlan plan) {
+        CoordinatePlan points = plan.points;
+        return switch (stage.kind) {
+            case TEMPERATURE -> checkSample(plan, ParameterType.TEMPERATURE, cache.temperature(), points.temperature);
+            case HUMIDITY -> checkSample(plan, ParameterType.HUMIDITY, cache.humidity(), points.humidity);
+            case EROSION -> checkSample(plan, ParameterType.EROSION, cache.erosion(), points.erosion);
+            case RIDGE -> checkSample(plan, ParameterType.RIDGE, cache.ridge(), points.ridge);
+            case CONTINENTALNESS -> checkSample(plan, ParameterType.CONTINENTALNESS, cache.contientalness(), points.continentalness);
+            // Entrance at 50 and 60 is checked on its own, Cheese does not check 50 and 60
+            case ENTRANCE -> passesEntrance(cache, plan, points.level(stage.y));
+            case CAVE_LEVEL -> passesCaveLevel(cache, plan, points.level(stage.y));
+            case AQUIFER -> passesAquifer(cache, plan);
+        };
+    }
+    // Same as plan.check(type, sampler.sample(point)), stopping at the first octave that decides it
+    private static boolean checkSample(FilterPlan plan, ParameterType type, DoublePerlinNoise sampler,
+                                       DoublePerlinNoise.Point point) {
+        ParameterCondition condition = plan.condition(type);
+        if (condition == null) {
+            return true;
+        }
+        int verdict = sampler.compare(point, 0, condition, false);
+        if (verdict == DoublePerlinNoise.UNDECIDED) {
+            return condition.test(sampler.lastSample());
+        }
+        return verdict == DoublePerlinNoise.PASS;
+    }
+    // Verdict of the Entrance condition from the octaves of Entrance1. Outside entrance1Only mode Entrance1 is only an
+    // upper bound of Entrance = min(Entrance1, Entrance2), so the verdict has to hold for every lower value as well.
+    // UNDECIDED: the exact Entrance1 is then returned by lastEntrance1(cache, level)
+    private static int entrance1Verdict(NoiseCache cache, FilterPlan plan, ParameterCondition condition,
+                                        CoordinatePlan.Level level) {
+        return cache.caveEntrance().compare(level.entrance1, 0.37 + entranceLerp(level.y), condition, !plan.entrance1Only);
+    }
+    // Entrance1 of the last UNDECIDED entrance1Verdict, summed in the same order as Entrance1(...)
+    private static double lastEntrance1(NoiseCache cache, CoordinatePlan.Level level) {
+        return cache.caveEntrance().lastSample() + 0.37 + entranceLerp(level.y);
+    }
+    // Same as check(ENTRANCE, Entrance(...)), but the spaghetti part (Entrance2, six samplers) is only sampled when
+    // Entrance1 alone does not decide the minimum of the two
+    private static boolean passesEntrance(NoiseCache cache, FilterPlan plan, CoordinatePlan.Level level) {
+        ParameterCondition condition = plan.condition(ParameterType.ENTRANCE);
+        if (condition == null) {
+            return true;
+        }
+        int verdict = entrance1Verdict(cache, plan, condition, level);
+        if (verdict != DoublePerlinNoise.UNDECIDED) {
+            return verdict == DoublePerlinNoise.PASS;
+        }
+        double entrance1 = lastEntrance1(cache, level);
+        if (plan.entrance1Only) {
+            return condition.test(entrance1);
+        }
+        if (condition.passesAllUpTo(entrance1)) {
+            return true;
+        }
+        return !condition.failsAllUpTo(entrance1)
+                && condition.test(Math.min(entrance1, Entrance2(cache, level)));
+    }
+    // At height 40 and below, Entrance and Cheese have an "OR" relationship (either one satisfied counts as satisfied).
+    // The parts are evaluated cheapest first and evaluation stops once the outcome is known: Entrance1, then Cheese,
+    // then Entrance2. Every value that is computed is the same as in the full evaluation, so the outcome is too.
+    private static boolean passesCaveLevel(NoiseCache cache, FilterPlan plan, CoordinatePlan.Level level) {
+        if (level.y < 0) {
+            if (passesCheese(cache, plan, level)) {
+                return true;
+            }
+            // Entrance1 mode: remove Entrance2 check, only check Cheese
+            if (plan.entrance1Only) {
+                return false;
+            }
+            ParameterCondition entrance = plan.condition(ParameterType.ENTRANCE);
+            return entrance == null || entrance.test(Entrance2(cache, level));
+        }
+        ParameterCondition entrance = plan.condition(ParameterType.ENTRANCE);
+        if (entrance == null) {
+            return true;
+        }
+        int verdict = entrance1Verdict(cache, plan, entrance, level);
+        if (verdict == DoublePerlinNoise.PASS) {
+            return true;
+        }
+        double entrance1 = Double.NaN;
+        if (verdict == DoublePerlinNoise.UNDECIDED) {
+            entrance1 = lastEntrance1(cache, level);
+            if (plan.entrance1Only ? entrance.test(entrance1) : entrance.passesAllUpTo(entrance1)) {
+                return true;
+            }
+        }
+        if (passesCheese(cache, plan, level)) {
+            return true;
+        }
+        if (plan.entrance1Only || verdict == DoublePerlinNoise.FAIL) {
+            return false;
+        }
+        // Entrance = min(Entrance1, Entrance2)
+        return !entrance.failsAllUpTo(entrance1) && entrance.test(Math.min(entrance1, Entrance2(cache, level)));
+    }
+    // Same as plan.check(CHEESE, Cheese(...)), without sampling Cheese when its condition is disabled
+    private static boolean passesCheese(NoiseCache cache, FilterPlan plan, CoordinatePlan.Level level) {
+        ParameterCondition condition = plan.condition(ParameterType.CHEESE);
+        return condition == null || condition.test(Cheese(cache, level));
+    }
+    private static boolean passesAquifer(NoiseCache cache, FilterPlan plan) {
+        DoublePerlinNoise aquiferNoise = cache.aquifer();
+        for (int y = plan.minDepth; y <= 60; y += 10) {
+            if (!checkSample(plan, ParameterType.AQUIFER, aquiferNoise, plan.points.level(y).aquifer)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    static boolean checkBedrockImpossible(long seed, FilterPlan plan) {
+        NoiseCache cache = NoiseCache.forThread(seed);
+        CoordinatePlan points = plan.points;
+        // Special check logic for bedrock impossible seeds
+        if (Entrance1(cache, points.level(45)) > 0) {
+            return false;
+        }
+        if (Entrance1(cache, points.level(55)) >= 0) {
+            return false;
+        }
+        if (Entrance1(cache, points.bedrockSides[0], 55) >= 0) {
+            return false;
+        }
+        if (Entrance1(cache, points.bedrockSides[1], 55) >= 0) {
+            return false;
+        }
+        if (Entrance1(cache, points.bedrockSides[2], 55) >= 0) {
+            return false;
+        }
+        if (Entrance1(cache, points.bedrockSides[3], 55) >= 0) {
+            return false;
+        }
+        if (Cheese(cache, points.level(-50)) >= -0.2) {
+            return false;
+        }
+        if (Cheese(cache, points.level(10)) >= -0.05) {
+            return false;
+        }
+        if (Cheese(cache, points.level(0)) >= -0.05) {
+            return false;
+        }
+        if (Cheese(cache, points.level(-10)) >= -0.05) {
+            return false;
+        }
+        if (Cheese(cache, points.level(-20)) >= -0.1) {
+            return false;
+        }
+        if (Cheese(cache, points.level(-30)) >= -0.13) {
+            return false;
+        }
+        if (Cheese(cache, points.level(-40)) >= -0.13) {
+            return false;
+        }
+        // min(Entrance1, Entrance2) >= 0 is Entrance1 >= 0 && Entrance2 >= 0, so Entrance2 is skipped when Entrance1 < 0
+        CoordinatePlan.Level level = points.level(40);
+        if (Entrance1(cache, level) >= 0 && Entrance2(cache, level) >= 0 && Cheese(cache, level) >= 0) {
+            return false;
+        }
+        level = points.level(30);
+        if (Entrance1(cache, level) >= 0 && Entrance2(cache, level) >= 0 && Cheese(cache, level) >= -0.05) {
+            return false;
+        }
+        level = points.level(20);
+        if (Entrance1(cache, level) >= 0 && Entrance2(cache, level) >= 0 && Cheese(cache, level) >= -0.05) {
+            return false;
+        }
+        double ridgeSample = cache.ridge().sample(points.ridge);
+        if (ridgeSample > -0.15 && ridgeSample < 0.15) {
+            return false;
+        }
+        if (cache.contientalness().sample(points.continentalness) < -0.12) {
+            return false;
+        }
+        // Check Aquifer
+        if (plan.isEnabled(ParameterType.AQUIFER)) {
+            DoublePerlinNoise aquiferNoise = cache.aquifer();
+            for (int y = -50; y <= 60; y += 10) {
+                if (aquiferNoise.sample(points.level(y).bedrockAquifer) >0.4) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    public static double Entrance(long worldseed, int x, int y, int z) {
+        return Entrance(new NoiseCache(worldseed), x, y, z);
+    }
+    static double Entrance(NoiseCache cache, int x, int y, int z) {
+        return Math.min(Entrance1(cache, x, y, z), Entrance2(cache, x, y, z));
+    }
+    public static double Cheese(long worldseed, int x, int y, int z) {
+        return Cheese(new NoiseCache(worldseed), x, y, z);
+    }
+    static double Cheese(NoiseCache cache, int x, int y, int z) {
+        double layer = cache.caveLayer().sample(x, y * 8, z); // Squared: the same sample twice
+        double a = 4 * layer * layer;
+        double b = MathHelper.clamp((0.27 + cache.caveCheese().sample(x, y * 0.6666666666666666, z)), -1, 1);
+        return a + b;
+    }
+    // Same as Cheese(cache, level.x, level.y, level.z), with the planned octave coordinates
+    static double Cheese(NoiseCache cache, CoordinatePlan.Level level) {
+        double layer = cache.caveLayer().sample(level.caveLayer);
+        double a = 4 * layer * layer;
+        double b = MathHelper.clamp((0.27 + cache.caveCheese().sample(level.caveCheese)), -1, 1);
+        return a + b;
+    }
+    public static double Entrance1(long worldseed, int x, int y, int z) {
+        return Entrance1(new NoiseCache(worldseed), x, y, z);
+    }
+    static double Entrance1(NoiseCache cache, int x, int y, int z) {
+        return cache.caveEntrance().sample(x * 0.75, y * 0.5, z * 0.75) + 0.37 + entranceLerp(y);
+    }
+    static double Entrance1(NoiseCache cache, CoordinatePlan.Level level) {
+        return Entrance1(cache, level.entrance1, level.y);
+    }
+    // point: the planned coordinates of (x * 0.75, y * 0.5, z * 0.75)
+    private static double Entrance1(NoiseCache cache, DoublePerlinNoise.Point point, int y) {
+        return cache.caveEntrance().sample(point) + 0.37 + entranceLerp(y);
+    }
+    private static double entranceLerp(int y) {
+        return MathHelper.clampedLerp(0.3, 0.0, (10 + (double)y) / 40.0);
+    }
+    public static double Entrance2(long worldseed, int x, int y, int z) {
+        return Entrance2(new NoiseCache(worldseed), x, y, z);
+    }
+    static double Entrance2(NoiseCache cache, int x, int y, int z) {
+        double d = cache.spaghettiRarity().sample(x * 2, y, z * 2);
+        double e = NoiseColumnSampler.CaveScaler.scaleTunnels(d);
+        double thickness = cache.spaghettiThickness().sample(x, y, z);
+        double h = MathHelper.lerp((thickness - -1.0) / (1.0 - -1.0), 0.065, 0.088);
+        double l = cache.spaghetti3D1().sample(x / e, y / e, z / e);
+        double m = Math.abs(e * l) - h;
+        double n = cache.spaghetti3D2().sample(x / e, y / e, z / e);
+        double o = Math.abs(e * n) - h;
+        double p = MathHelper.clamp(Math.max(m, o), -1.0, 1.0);
+        double q = (-0.05 + (-0.05 * cache.spaghettiRoughnessModulator().sample(x, y, z))) *
+                (-0.4 + Math.abs(cache.spaghettiRoughness().sample(x, y, z)));
+        return p + q;
+    }
+    // Same as Entrance2(cache, level.x, level.y, level.z), with the planned octave coordinates
+    static double Entrance2(NoiseCache cache, CoordinatePlan.Level level) {
+        double d = cache.spaghettiRarity().sample(level.spaghettiRarity);
+        double e = NoiseColumnSampler.CaveScaler.scaleTunnels(d);
+        int scale = CoordinatePlan.Level.tunnelScaleIndex(e);
+        if (scale < 0) {
+            return Entrance2(cache, level.x, level.y, level.z);
+        }
+        double thickness = cache.spaghettiThickness().sample(level.spaghettiThickness);
+        double h = MathHelper.lerp((thickness - -1.0) / (1.0 - -1.0), 0.065, 0.088);
+        double l = cache.spaghetti3D1().sample(level.spaghetti3D1[scale]);
+        double m = Math.abs(e * l) - h;
+        double n = cache.spaghetti3D2().sample(level.spaghetti3D2[scale]);
+        double o = Math.abs(e * n) - h;
+        double p = MathHelper.clamp(Math.max(m, o), -1.0, 1.0);
+        double q = (-0.05 + (-0.05 * cache.spaghettiRoughnessModulator().sample(level.spaghettiRoughnessModulator))) *
+                (-0.4 + Math.abs(cache.spaghettiRoughness().sample(level.spaghettiRoughness)));
+        return p + q;
+    }
+}
@@ -0,0 +1,145 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+// Seed list (one seed per line) read as raw bytes, either memory-mapped from a file or from the text of the list box.
+// Any byte range can be parsed on its own, which lets the engine parse a huge list in parallel chunks into primitive
+// long batches without ever building the whole text or a List<Long>.
+final class SeedListSource implements AutoCloseable {
+    // Lines longer than this cannot be a seed; it bounds how far a chunk may read past its end
+    private static final int MAX_LINE_LENGTH = 1024;
+    private final FileChannel channel; // null for in-memory text
+    private final ByteBuffer text;
+    private final long size;
+    private final int dataStart; // 3 when the list starts with a UTF-8 byte order mark
+    private SeedListSource(FileChannel channel, ByteBuffer text, long size) throws IOException {
+        this.channel = channel;
+        this.text = text;
+        this.size = size;
+        ByteBuffer head = size >= 3 ? window(0, 3) : null;
+        this.dataStart = head != null && (head.get(0) & 0xFF) == 0xEF && (head.get(1) & 0xFF) == 0xBB
+                && (head.get(2) & 0xFF) == 0xBF ? 3 : 0;
+    }
+    static SeedListSource ofFile(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        return new SeedListSource(channel, null, channel.size());
+    }
+    static SeedListSource ofText(String seedList) {
+        byte[] bytes = seedList.getBytes(StandardCharsets.UTF_8);
+        try {
+            return new SeedListSource(null, ByteBuffer.wrap(bytes), bytes.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Cannot happen for in-memory text
+        }
+    }
+    long size() {
+        return size;
+    }
+    // Parses every line that starts in [from, to). A line that crosses "to" belongs to this chunk, and the part of a
+    // line that crosses "from" belongs to the previous one, so adjacent chunks together see every line exactly once.
+    long[] parse(long from, long to, Consumer<String> onInvalid) throws IOException {
+        if (to <= dataStart) {
+            return new long[0];
+        }
+        // Otherwise start one byte back to see whether a line starts exactly at "from"
+        long windowStart = from <= dataStart ? dataStart : from - 1;
+        long windowEnd = Math.min(size, to + MAX_LINE_LENGTH);
+        ByteBuffer buffer = window(windowStart, windowEnd);
+        int limit = buffer.limit();
+        int pos = 0;
+        if (from > dataStart) {
+            // Skip the tail of the line that started in the previous chunk
+            while (pos < limit && buffer.get(pos) != '\n') {
+                pos++;
+            }
+            pos++;
+        }
+        int chunkLimit = (int) (to - windowStart); // Lines must start before this position
+        long[] seeds = new long[Math.max(16, (int) ((to - from) / 8))];
+        int count = 0;
+        while (pos < limit && pos < chunkLimit) {
+            int lineEnd = pos;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            if (lineEnd == limit && windowEnd < size) {
+                // No line break within MAX_LINE_LENGTH bytes
+                onInvalid.accept(lineText(buffer, pos, Math.min(lineEnd, pos + 64)) + "...");
+                break;
+            }
+            int start = pos;
+            int end = lineEnd;
+            pos = lineEnd + 1;
+            // Same as String.trim(): drop control characters and spaces (this also removes '\r')
+            while (start < end && (buffer.get(start) & 0xFF) <= ' ') {
+                start++;
+            }
+            while (end > start && (buffer.get(end - 1) & 0xFF) <= ' ') {
+                end--;
+            }
+            if (start == end) {
+                continue;
+            }
+            if (!parseLong(buffer, start, end, seeds, count)) {
+                onInvalid.accept(lineText(buffer, start, Math.min(end, start + 64)));
+                continue;
+            }
+            if (++count == seeds.length) {
+                seeds = Arrays.copyOf(seeds, seeds.length * 2);
+            }
+        }
+        return Arrays.copyOf(seeds, count);
+    }
+    private ByteBuffer window(long from, long to) throws IOException {
+        if (channel != null) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        }
+        return text.slice((int) from, (int) (to - from));
+    }
+    // Decimal parse with the same accepted syntax and overflow rules as Long.parseLong; stores into out[index]
+    private static boolean parseLong(ByteBuffer buffer, int start, int end, long[] out, int index) {
+        int i = start;
+        boolean negative = false;
+        byte first = buffer.get(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+            if (i == end) {
+                return false;
+            }
+        }
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multmin = limit / 10;
+        long result = 0; // Accumulated negatively, like Long.parseLong, so that Long.MIN_VALUE fits
+        for (; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9 || result < multmin) {
+                return false;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return false;
+            }
+            result -= digit;
+        }
+        out[index] = negative ? result : -result;
+        return true;
+    }
+    private static String lineText(ByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
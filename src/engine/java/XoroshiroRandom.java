@@ -0,0 +1,83 @@
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+// Xoroshiro128++ random of the 1.18 world generation, with the name-hashed forks used to derive noise samplers.
+// Same algorithm as the one of the noise-sampler library; DoublePerlinNoise builds on it.
+final class XoroshiroRandom {
+    private long lo;
+    private long hi;
+    // World seed, spread to 128 bits like RandomSupport.upgradeSeedTo128bit
+    XoroshiroRandom(long seed) {
+        setSeed(seed);
+    }
+    XoroshiroRandom(long lo, long hi) {
+        setSeed(lo, hi);
+    }
+    // Same state as new XoroshiroRandom(seed), so a thread can reuse one instance
+    void setSeed(long seed) {
+        long l = seed ^ 0x6A09E667F3BCC909L;
+        long m = l + -7046029254386353131L;
+        setSeed(mix(l), mix(m));
+    }
+    // Same state as new XoroshiroRandom(lo, hi)
+    void setSeed(long lo, long hi) {
+        if ((lo | hi) == 0L) {
+            lo = -7046029254386353131L;
+            hi = 7640891576956012809L;
+        }
+        this.lo = lo;
+        this.hi = hi;
+    }
+    private static long mix(long z) {
+        z = (z ^ z >>> 30) * -4658895280553007687L;
+        z = (z ^ z >>> 27) * -7723592293110705685L;
+        return z ^ z >>> 31;
+    }
+    long nextLong() {
+        long l = lo;
+        long m = hi;
+        long n = Long.rotateLeft(l + m, 17) + l;
+        m ^= l;
+        lo = Long.rotateLeft(l, 49) ^ m ^ m << 21;
+        hi = Long.rotateLeft(m, 28);
+        return n;
+    }
+    int nextInt(int bound) {
+        long l = Integer.toUnsignedLong((int) nextLong());
+        long m = l * (long) bound;
+        long n = m & 0xFFFFFFFFL;
+        if (n < (long) bound) {
+            int i = Integer.remainderUnsigned(~bound + 1, bound);
+            while (n < (long) i) {
+                l = Integer.toUnsignedLong((int) nextLong());
+                m = l * (long) bound;
+                n = m & 0xFFFFFFFFL;
+            }
+        }
+        return (int) (m >> 32);
+    }
+    double nextDouble() {
+        return (double) (nextLong() >>> 11) * 1.1102230246251565E-16;
+    }
+    // Key-dependent half of a named fork, as {lo, hi}: MD5 of the name. The random of a fork (two nextLong() of the
+    // forked random) for the name is new XoroshiroRandom(hash[0] ^ forkLo, hash[1] ^ forkHi), so the hash only has to
+    // be computed once per name and never per seed
+    static long[] nameHash(String name) {
+        byte[] hash;
+        try {
+            hash = MessageDigest.getInstance("MD5").digest(name.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        long l = 0;
+        long m = 0;
+        for (int i = 0; i < 8; i++) {
+            l = l << 8 | (hash[i] & 0xFF);
+        }
+        for (int i = 8; i < 16; i++) {
+            m = m << 8 | (hash[i] & 0xFF);
+        }
+        return new long[]{l, m};
+    }
+}
@@ -0,0 +1,57 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Cost of the single cave noise functions. With cache=fresh every call gets a new seed and so a new NoiseCache, which
+// is what the first sample of each noise costs a filter (sampler derivation included); with cache=warm the samplers
+// of one seed are reused and only the sampling itself is measured.
+public class CaveNoiseBenchmark {
+    static final long FIRST_SEED = 1L << 40;
+    @State(Scope.Thread)
+    public static class Seeds {
+        long seed = FIRST_SEED;
+    }
+    @State(Scope.Thread)
+    public static class Point {
+        @Param({"-50", "-20", "10", "40"})
+        int y;
+        @Param({"fresh", "warm"})
+        String cache;
+        int x = 0;
+        int z = 0;
+        private long seed = FIRST_SEED;
+        private Object warmCache;
+        @Setup
+        public void setup() throws Throwable {
+            warmCache = cache.equals("warm") ? (Object) Engine.NEW_NOISE_CACHE.invokeExact(seed) : null;
+        }
+        Object cache() throws Throwable {
+            return warmCache != null ? warmCache : (Object) Engine.NEW_NOISE_CACHE.invokeExact(seed++);
+        }
+    }
+    // Construction alone; the samplers are derived lazily, so this is the fixed cost every checked seed pays
+    @Benchmark
+    public Object noiseCache(Seeds seeds) throws Throwable {
+        return (Object) Engine.NEW_NOISE_CACHE.invokeExact(seeds.seed++);
+    }
+    @Benchmark
+    public double entrance(Point point) throws Throwable {
+        return (double) Engine.ENTRANCE.invokeExact(point.cache(), point.x, point.y, point.z);
+    }
+    @Benchmark
+    public double entrance1(Point point) throws Throwable {
+        return (double) Engine.ENTRANCE1.invokeExact(point.cache(), point.x, point.y, point.z);
+    }
+    @Benchmark
+    public double entrance2(Point point) throws Throwable {
+        return (double) Engine.ENTRANCE2.invokeExact(point.cache(), point.x, point.y, point.z);
+    }
+    @Benchmark
+    public double cheese(Point point) throws Throwable {
+        return (double) Engine.CHEESE.invokeExact(point.cache(), point.x, point.y, point.z);
+    }
+}
@@ -0,0 +1,97 @@
+package benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// The engine lives in the unnamed package, which a named package cannot import and JMH does not accept benchmarks in.
+// These handles reach its package-private entry points instead; engine types are seen as Object. Being static final,
+// the JIT treats them as constants and inlines them like direct calls, so they add nothing to the measured cost.
+final class Engine {
+    // (long seed) -> NoiseCache
+    static final MethodHandle NEW_NOISE_CACHE;
+    // (NoiseCache, int x, int y, int z) -> double
+    static final MethodHandle ENTRANCE = find("SeedFilter", "Entrance", "NoiseCache", int.class, int.class, int.class);
+    static final MethodHandle ENTRANCE1 = find("SeedFilter", "Entrance1", "NoiseCache", int.class, int.class, int.class);
+    static final MethodHandle ENTRANCE2 = find("SeedFilter", "Entrance2", "NoiseCache", int.class, int.class, int.class);
+    static final MethodHandle CHEESE = find("SeedFilter", "Cheese", "NoiseCache", int.class, int.class, int.class);
+    // (long seed, FilterPlan) -> boolean
+    static final MethodHandle CHECK_NORMAL = find("SeedFilter", "checkNormal", long.class, "FilterPlan");
+    static final MethodHandle CHECK_BEDROCK_IMPOSSIBLE = find("SeedFilter", "checkBedrockImpossible", long.class,
+            "FilterPlan");
+    // (long[] seeds, long candidates, FilterPlan, FilterStage[] order) -> long
+    static final MethodHandle CHECK_NORMAL_BATCH = find("SeedFilter", "checkNormalBatch", long[].class, long.class,
+            "FilterPlan", "[LFilterStage;");
+    // (FilterPlan) -> FilterStage[], the stages in their default order
+    static final MethodHandle PLAN_STAGES;
+    // (HeightChecker, long seed) -> boolean
+    static final MethodHandle HEIGHT_CHECK;
+    // () -> void, creates the seed-independent state of SeedChecker once per process
+    static final MethodHandle INITIALIZE_SEED_CHECKER = find("SeedCheckerInitializer", "initialize");
+    // (FilterPlan) -> HeightChecker, logging nowhere
+    private static final MethodHandle NEW_HEIGHT_CHECKER;
+    // (Map<String, String> options) -> FilterPlan, with the same option names and defaults as the command line
+    private static final MethodHandle BUILD_PLAN = find("CaveFinderCli", "buildPlan", Map.class);
+    static {
+        try {
+            Class<?> type = Class.forName("NoiseCache");
+            NEW_NOISE_CACHE = lookupIn(type).findConstructor(type, MethodType.methodType(void.class, long.class))
+                    .asType(MethodType.methodType(Object.class, long.class));
+            Class<?> plan = Class.forName("FilterPlan");
+            PLAN_STAGES = lookupIn(plan).findGetter(plan, "stages", Class.forName("[LFilterStage;"))
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            Class<?> heightChecker = Class.forName("HeightChecker");
+            Class<?> language = Class.forName("Language");
+            HEIGHT_CHECK = lookupIn(heightChecker).findVirtual(heightChecker, "check",
+                    MethodType.methodType(boolean.class, long.class))
+                    .asType(MethodType.methodType(boolean.class, Object.class, long.class));
+            Consumer<String> noLog = message -> {
+            };
+            NEW_HEIGHT_CHECKER = MethodHandles.insertArguments(lookupIn(heightChecker).findConstructor(heightChecker,
+                            MethodType.methodType(void.class, plan, Consumer.class, language)), 1, noLog,
+                            language.getField("ENGLISH").get(null))
+                    .asType(MethodType.methodType(Object.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    private Engine() {
+    }
+    static Object buildPlan(Map<String, String> options) {
+        try {
+            return (Object) BUILD_PLAN.invokeExact((Object) options);
+        } catch (Throwable e) {
+            throw new IllegalArgumentException("Invalid benchmark filter: " + options, e);
+        }
+    }
+    static Object newHeightChecker(Object plan) {
+        try {
+            return (Object) NEW_HEIGHT_CHECKER.invokeExact(plan);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    // Parameters are classes, or names of engine classes
+    private static MethodHandle find(String className, String name, Object... parameters) {
+        try {
+            Class<?> owner = Class.forName(className);
+            Class<?>[] types = new Class<?>[parameters.length];
+            Class<?>[] erased = new Class<?>[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                types[i] = parameters[i] instanceof String engineType ? Class.forName(engineType) : (Class<?>) parameters[i];
+                erased[i] = types[i].isPrimitive() ? types[i] : Object.class;
+            }
+            Method method = owner.getDeclaredMethod(name, types);
+            Class<?> returnType = method.getReturnType().isPrimitive() ? method.getReturnType() : Object.class;
+            return lookupIn(owner).unreflect(method).asType(MethodType.methodType(returnType, erased));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    private static MethodHandles.Lookup lookupIn(Class<?> type) throws IllegalAccessException {
+        return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+    }
+}
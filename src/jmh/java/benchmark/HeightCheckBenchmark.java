@@ -0,0 +1,48 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Cost of the height check of one candidate, one consecutive seed per operation: SeedChecker generates the terrain
+// around the searched position. gc.alloc.rate.norm is the number of bytes allocated per checked candidate, which is
+// what makes "Check Height" runs memory-hungry.
+public class HeightCheckBenchmark {
+    @State(Scope.Thread)
+    public static class Candidates {
+        // point      - surface height at the searched position (the default)
+        // underwater - water height at the searched position
+        // range      - surface height of every column within 1 block of it
+        @Param({"point", "underwater", "range"})
+        String check;
+        // SeedChecker TargetState the chunks are generated to; the default of the height check unless overridden
+        @Param({"TERRAIN_ONLY", "NO_STRUCTURES"})
+        String target;
+        Object checker;
+        long seed = CaveNoiseBenchmark.FIRST_SEED;
+        @Setup
+        public void setup() throws Throwable {
+            Engine.INITIALIZE_SEED_CHECKER.invokeExact();
+            Map<String, String> options = new HashMap<>();
+            options.put("check-height", "true");
+            options.put("height-target", target);
+            switch (check) {
+                case "point" -> {
+                }
+                case "underwater" -> options.put("underwater", "true");
+                case "range" -> options.put("range", "-1 -1 1 1");
+                default -> throw new IllegalArgumentException("Unknown check: " + check);
+            }
+            checker = Engine.newHeightChecker(Engine.buildPlan(options));
+        }
+    }
+    @Benchmark
+    public boolean check(Candidates state) throws Throwable {
+        return (boolean) Engine.HEIGHT_CHECK.invokeExact(state.checker, state.seed++);
+    }
+}
@@ -0,0 +1,93 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Whole-seed cost of the noise filters, one consecutive seed per operation like an incremental search. The gc
+// profiler's gc.alloc.rate.norm is then the number of bytes allocated per checked seed.
+public class SeedFilterBenchmark {
+    static final int BATCH = 64; // Seeds per checkNormalBatch call, like a batch of SearchEngine
+    // Filters, as command line options on top of the GUI defaults:
+    // default - the defaults; almost every seed is rejected by the first Entrance check
+    // loose   - ridge, continentalness and aquifer off, so more seeds reach the deep Entrance/Cheese levels
+    // pass    - every parameter accepts everything, so each seed runs every stage (worst case)
+    static Map<String, String> filterOptions(String filter) {
+        Map<String, String> options = new HashMap<>();
+        switch (filter) {
+            case "default" -> {
+            }
+            case "loose" -> {
+                options.put("ridge", "off");
+                options.put("continentalness", "off");
+                options.put("aquifer", "off");
+            }
+            case "pass" -> {
+                for (String parameter : new String[]{"temperature", "humidity", "erosion", "ridge", "entrance",
+                        "cheese", "continentalness", "aquifer"}) {
+                    options.put(parameter, "between:-10:10");
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown filter: " + filter);
+        }
+        return options;
+    }
+    @State(Scope.Thread)
+    public static class Normal {
+        @Param({"-50", "-30", "0"})
+        int depth;
+        @Param({"false", "true"})
+        boolean entrance1Only;
+        @Param({"default", "loose", "pass"})
+        String filter;
+        Object plan;
+        Object stages;
+        long seed = CaveNoiseBenchmark.FIRST_SEED;
+        final long[] batch = new long[BATCH];
+        @Setup
+        public void setup() throws Throwable {
+            Map<String, String> options = filterOptions(filter);
+            options.put("depth", Integer.toString(depth));
+            options.put("entrance1-only", Boolean.toString(entrance1Only));
+            plan = Engine.buildPlan(options);
+            stages = (Object) Engine.PLAN_STAGES.invokeExact(plan);
+        }
+    }
+    @State(Scope.Thread)
+    public static class BedrockImpossible {
+        // The mode has its own fixed conditions; of the filter only whether the aquifer check runs matters
+        @Param({"default", "loose"})
+        String filter;
+        Object plan;
+        long seed = CaveNoiseBenchmark.FIRST_SEED;
+        @Setup
+        public void setup() {
+            Map<String, String> options = filterOptions(filter);
+            options.put("bedrock-impossible", "true");
+            plan = Engine.buildPlan(options);
+        }
+    }
+    @Benchmark
+    public boolean checkNormal(Normal state) throws Throwable {
+        return (boolean) Engine.CHECK_NORMAL.invokeExact(state.seed++, state.plan);
+    }
+    // The same seeds as checkNormal, checked stage by stage in batches; the score is per seed as well
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long checkNormalBatch(Normal state) throws Throwable {
+        for (int i = 0; i < BATCH; i++) {
+            state.batch[i] = state.seed++;
+        }
+        return (long) Engine.CHECK_NORMAL_BATCH.invokeExact((Object) state.batch, -1L, state.plan, state.stages);
+    }
+    @Benchmark
+    public boolean checkBedrockImpossible(BedrockImpossible state) throws Throwable {
+        return (boolean) Engine.CHECK_BEDROCK_IMPOSSIBLE.invokeExact(state.seed++, state.plan);
+    }
+}
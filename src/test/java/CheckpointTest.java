@@ -0,0 +1,81 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// A resume must continue exactly where the saved run stopped, and never with a checkpoint of other settings
+class CheckpointTest {
+    private static final String FINGERPRINT = Checkpoint.fingerprint("x=0,z=0,depth=-50");
+    @TempDir
+    Path dir;
+    @Test
+    void savedSlicesAreLoadedBack() throws IOException {
+        Path result = dir.resolve("result.txt");
+        Checkpoint checkpoint = Checkpoint.create(result, FINGERPRINT, 1000, 10);
+        checkpoint.markDone(0, 1000);
+        checkpoint.markDone(1, 1000);
+        checkpoint.markDone(7, 400);
+        checkpoint.markDone(7, 400); // Counted once
+        checkpoint.save(checkpoint.snapshot());
+        assertTrue(Files.exists(Checkpoint.pathFor(result)));
+        Checkpoint loaded = Checkpoint.load(result, FINGERPRINT, 1000, 10, Language.ENGLISH);
+        for (int slice = 0; slice < 10; slice++) {
+            assertEquals(slice == 0 || slice == 1 || slice == 7, loaded.isDone(slice), "slice " + slice);
+        }
+        assertEquals(2400, loaded.getDoneSeeds());
+        assertEquals(3, loaded.getDoneSlices());
+        assertFalse(loaded.isComplete());
+        assertEquals("2", read(result).getProperty("watermark"));
+        assertEquals("2000", read(result).getProperty("watermarkOffset"));
+        loaded.delete();
+        assertNull(Checkpoint.load(result, FINGERPRINT, 1000, 10, Language.ENGLISH));
+    }
+    @Test
+    void missingCheckpointLoadsAsNull() throws IOException {
+        assertNull(Checkpoint.load(dir.resolve("result.txt"), FINGERPRINT, 1000, 10, Language.ENGLISH));
+    }
+    @Test
+    void otherSettingsAreRejected() throws IOException {
+        Path result = dir.resolve("result.txt");
+        Checkpoint checkpoint = Checkpoint.create(result, FINGERPRINT, 1000, 10);
+        checkpoint.markDone(3, 1000);
+        checkpoint.save(checkpoint.snapshot());
+        String other = Checkpoint.fingerprint("x=0,z=0,depth=-40");
+        assertNotEquals(FINGERPRINT, other);
+        assertThrows(IllegalStateException.class, () -> Checkpoint.load(result, other, 1000, 10, Language.ENGLISH));
+        assertThrows(IllegalStateException.class, () -> Checkpoint.load(result, FINGERPRINT, 500, 10, Language.ENGLISH));
+        assertThrows(IllegalStateException.class, () -> Checkpoint.load(result, FINGERPRINT, 1000, 20, Language.ENGLISH));
+        // A rejected checkpoint is left alone
+        assertTrue(Checkpoint.load(result, FINGERPRINT, 1000, 10, Language.ENGLISH).isDone(3));
+    }
+    @Test
+    void watermarkOffsetCoversTheWholeSeedSpace() throws IOException {
+        // 2^20 slices of 2^44 world seeds: every seed of the 64-bit space
+        Path result = dir.resolve("result.txt");
+        Checkpoint checkpoint = Checkpoint.create(result, FINGERPRINT, 1L << 44, 1 << 20);
+        for (int slice = 0; slice < 1 << 20; slice++) {
+            checkpoint.markDone(slice, 1L << 44);
+        }
+        assertTrue(checkpoint.isComplete());
+        checkpoint.save(checkpoint.snapshot());
+        assertEquals("18446744073709551616", read(result).getProperty("watermarkOffset"));
+    }
+    private static Properties read(Path result) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(Checkpoint.pathFor(result))) {
+            properties.load(in);
+        }
+        return properties;
+    }
+}
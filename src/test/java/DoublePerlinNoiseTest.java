@@ -0,0 +1,74 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// compare() stops summing octaves once the missing ones can no longer change the verdict, so every verdict it gives
+// has to agree with testing the exact sample(), for any seed, position and threshold
+class DoublePerlinNoiseTest {
+    private static final int SEEDS = 200;
+    private static final int POINTS = 20;
+    @Test
+    void compareAgreesWithSample() {
+        SplittableRandom random = new SplittableRandom(1);
+        for (NoiseCache.Sampler sampler : NoiseCache.Sampler.values()) {
+            DoublePerlinNoise noise = new DoublePerlinNoise(sampler.parameters);
+            for (int s = 0; s < SEEDS; s++) {
+                noise.reseed(random.nextLong(), random.nextLong());
+                for (int p = 0; p < POINTS; p++) {
+                    double x = random.nextInt(-30_000_000, 30_000_000) / 4.0;
+                    double y = random.nextInt(-64, 320);
+                    double z = random.nextInt(-30_000_000, 30_000_000) / 4.0;
+                    double sample = noise.sample(x, y, z);
+                    DoublePerlinNoise.Point point = sampler.parameters.point(x, y, z);
+                    assertEquals(sample, noise.sample(point), sampler + " sample of the point");
+                    ParameterCondition condition = condition(random, sample);
+                    double offset = random.nextBoolean() ? 0 : random.nextDouble(-0.5, 0.5);
+                    String where = sampler + " at " + x + " " + y + " " + z + " " + condition.describe();
+                    int verdict = noise.compare(point, offset, condition, false);
+                    if (verdict == DoublePerlinNoise.UNDECIDED) {
+                        assertEquals(sample, noise.lastSample(), where);
+                    } else {
+                        assertEquals(condition.test(sample + offset), verdict == DoublePerlinNoise.PASS, where);
+                    }
+                    // The tested value is at most sample + offset, so a verdict must hold for every lower value too
+                    verdict = noise.compare(point, offset, condition, true);
+                    if (verdict == DoublePerlinNoise.UNDECIDED) {
+                        assertEquals(sample, noise.lastSample(), where);
+                    } else {
+                        boolean pass = verdict == DoublePerlinNoise.PASS;
+                        for (double below : new double[]{0, 1e-3, 0.1, 1, 100}) {
+                            assertEquals(condition.test(sample + offset - below), pass, where + " minus " + below);
+                        }
+                    }
+                }
+            }
+        }
+    }
+    @Test
+    void compareDecidesFarThresholdsEarly() {
+        SplittableRandom random = new SplittableRandom(2);
+        DoublePerlinNoise noise = new DoublePerlinNoise(NoiseCache.Sampler.CAVE_CHEESE.parameters);
+        ParameterCondition above = new ParameterCondition(ConditionType.GREATER_THAN, 100, 0);
+        ParameterCondition below = new ParameterCondition(ConditionType.LESS_THAN, 100, 0);
+        for (int s = 0; s < SEEDS; s++) {
+            noise.reseed(random.nextLong(), random.nextLong());
+            DoublePerlinNoise.Point point = NoiseCache.Sampler.CAVE_CHEESE.parameters.point(
+                    random.nextInt(-100_000, 100_000), random.nextInt(-64, 320), random.nextInt(-100_000, 100_000));
+            assertEquals(DoublePerlinNoise.FAIL, noise.compare(point, 0, above, false));
+            assertEquals(DoublePerlinNoise.PASS, noise.compare(point, 0, below, false));
+        }
+    }
+    // A random condition of any type, with thresholds around the sample so that all verdicts occur
+    private static ParameterCondition condition(SplittableRandom random, double sample) {
+        ConditionType[] types = ConditionType.values();
+        ConditionType type = types[random.nextInt(types.length)];
+        double value1 = sample + random.nextDouble(-0.3, 0.3);
+        double value2 = sample + random.nextDouble(-0.3, 0.3);
+        if (random.nextInt(8) == 0) {
+            value1 = sample; // Exactly on the threshold
+        }
+        return new ParameterCondition(type, value1, value2);
+    }
+}
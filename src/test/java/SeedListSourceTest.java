@@ -0,0 +1,68 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The engine parses a seed list in parallel chunks of arbitrary byte ranges, so wherever the chunk boundaries fall,
+// the chunks together must see every seed exactly once and report every invalid line exactly once
+class SeedListSourceTest {
+    private static final String BOM = "\uFEFF";
+    @TempDir
+    Path dir;
+    @Test
+    void chunksSeeEveryLineOnce() throws IOException {
+        String text = "123\n-4\n\n  56  \n9223372036854775807\n-9223372036854775808\n7\n+8\n0";
+        long[] seeds = {123, -4, 56, Long.MAX_VALUE, Long.MIN_VALUE, 7, 8, 0};
+        assertAllChunkings(text, seeds, List.of());
+    }
+    @Test
+    void byteOrderMarkIsSkipped() throws IOException {
+        assertAllChunkings(BOM + "42\n43\n", new long[]{42, 43}, List.of());
+        assertAllChunkings(BOM + "-1", new long[]{-1}, List.of());
+        assertAllChunkings(BOM, new long[0], List.of());
+    }
+    @Test
+    void crlfLineEndings() throws IOException {
+        assertAllChunkings("1\r\n22\r\n\r\n333\r\n", new long[]{1, 22, 333}, List.of());
+        assertAllChunkings(BOM + "1\r\n-2\r\n", new long[]{1, -2}, List.of());
+    }
+    @Test
+    void invalidLinesAreReportedOnce() throws IOException {
+        String text = "1\nabc\r\n2\n9223372036854775808\n- \n3\n";
+        assertAllChunkings(text, new long[]{1, 2, 3}, List.of("abc", "9223372036854775808", "-"));
+    }
+    // Parses text with every chunk size from 1 byte to the whole list, both from memory and from a file
+    private void assertAllChunkings(String text, long[] seeds, List<String> invalid) throws IOException {
+        Path file = dir.resolve("seeds.txt");
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+        try (SeedListSource memory = SeedListSource.ofText(text); SeedListSource mapped = SeedListSource.ofFile(file)) {
+            for (SeedListSource source : new SeedListSource[]{memory, mapped}) {
+                for (long chunk = 1; chunk <= Math.max(1, source.size()); chunk++) {
+                    List<String> reported = new ArrayList<>();
+                    long[] parsed = new long[0];
+                    for (long from = 0; from < source.size(); from += chunk) {
+                        long[] part = source.parse(from, Math.min(source.size(), from + chunk), reported::add);
+                        parsed = concat(parsed, part);
+                    }
+                    String where = (source == memory ? "text" : "file") + " in chunks of " + chunk;
+                    assertArrayEquals(seeds, parsed, where);
+                    assertEquals(invalid, reported, where);
+                }
+            }
+        }
+    }
+    private static long[] concat(long[] a, long[] b) {
+        long[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+}